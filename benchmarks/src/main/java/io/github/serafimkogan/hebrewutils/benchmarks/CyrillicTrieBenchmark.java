@@ -0,0 +1,42 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.CyrillicTrie;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CyrillicTrieBenchmark {
+	private CyrillicTrie trie;
+
+	@Setup
+	public void setUp() {
+		trie = CyrillicTrie.build(Arrays.asList(Samples.PASSAGE.vocalized.split(" ")));
+	}
+
+	@Benchmark
+	public int[] prefixSearch() {
+		return trie.prefixSearch("ва", 10);
+	}
+
+	@Benchmark
+	public int[] search() {
+		return trie.search("бэрешит", 2, 10);
+	}
+}
@@ -0,0 +1,55 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.Cyrillizer;
+import io.github.serafimkogan.hebrewutils.CyrillizerEngine;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CyrillizerBatchBenchmark {
+	@Param({"100000"})
+	private int size;
+
+	private final CyrillizerEngine engine = new CyrillizerEngine();
+	private String[] words;
+
+	@Setup
+	public void setUp() {
+		String[] passage = Samples.PASSAGE.vocalized.split(" ");
+
+		words = new String[size];
+		for (int i = 0; i < size; i++)
+			words[i] = passage[i % passage.length];
+	}
+
+	@Benchmark
+	public String[] serial() {
+		String[] results = new String[words.length];
+		for (int i = 0; i < words.length; i++)
+			results[i] = new Cyrillizer(words[i]).getResult();
+
+		return results;
+	}
+
+	@Benchmark
+	public String[] transliterateAll() {
+		return engine.transliterateAll(words);
+	}
+}
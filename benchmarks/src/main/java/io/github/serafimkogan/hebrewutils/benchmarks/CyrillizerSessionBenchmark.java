@@ -0,0 +1,57 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.Cyrillizer;
+import io.github.serafimkogan.hebrewutils.CyrillizerSession;
+
+/*
+ * A keystroke in the middle of the document, typing a letter and deleting it again, against transliterating
+ * the whole document after each of the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CyrillizerSessionBenchmark {
+	@Param({"1", "16"})
+	private int passages;
+
+	private String document;
+	private int offset;
+	private CyrillizerSession session;
+
+	@Setup
+	public void setUp() {
+		document = String.join(" ", Collections.nCopies(passages, Samples.PASSAGE.vocalized));
+		offset = document.indexOf(' ', document.length() / 2);
+		session = new CyrillizerSession(document);
+	}
+
+	@Benchmark
+	public CyrillizerSession.Change edit() {
+		session.edit(offset, 0, "ב");
+		return session.edit(offset, 1, "");
+	}
+
+	@Benchmark
+	public String retransliterate() {
+		new Cyrillizer(document.substring(0, offset) + "ב" + document.substring(offset)).getResult();
+		return new Cyrillizer(document).getResult();
+	}
+}
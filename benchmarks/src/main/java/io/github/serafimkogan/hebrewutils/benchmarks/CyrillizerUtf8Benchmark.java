@@ -0,0 +1,49 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.Cyrillizer;
+import io.github.serafimkogan.hebrewutils.CyrillizerUtf8Engine;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CyrillizerUtf8Benchmark {
+	@Param({"SENTENCE", "PASSAGE"})
+	private Samples sample;
+
+	private byte[] source;
+	private CyrillizerUtf8Engine engine;
+
+	@Setup
+	public void setUp() {
+		source = sample.vocalized.getBytes(StandardCharsets.UTF_8);
+		engine = new CyrillizerUtf8Engine();
+	}
+
+	@Benchmark
+	public byte[] throughStrings() {
+		return new Cyrillizer(new String(source, StandardCharsets.UTF_8)).getResult().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] utf8() {
+		return engine.transliterate(source);
+	}
+}
@@ -0,0 +1,62 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.NikkudimSpreader;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NikkudimSpreaderBatchBenchmark {
+	@Param({"100000"})
+	private int size;
+
+	private List<Map.Entry<String, String>> pairs;
+
+	@Setup
+	public void setUp() {
+		String[] references = Samples.SPREADING_PASSAGE.vocalized.split(" ");
+		String[] billets = Samples.SPREADING_PASSAGE.unvocalized.split(" ");
+
+		pairs = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			pairs.add(Map.entry(references[i % references.length], billets[i % billets.length]));
+	}
+
+	@Benchmark
+	public List<String> serial() {
+		List<String> results = new ArrayList<>(pairs.size());
+		for (Map.Entry<String, String> pair : pairs) {
+			try {
+				results.add(new NikkudimSpreader(pair.getKey(), pair.getValue()).getResult());
+			} catch (IllegalArgumentException e) {
+				results.add(null);
+			}
+		}
+
+		return results;
+	}
+
+	@Benchmark
+	public NikkudimSpreader.Report spreadAll() {
+		return NikkudimSpreader.spreadAll(pairs);
+	}
+}
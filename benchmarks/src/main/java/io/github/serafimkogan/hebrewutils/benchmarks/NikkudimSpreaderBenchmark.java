@@ -0,0 +1,47 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.serafimkogan.hebrewutils.NikkudimSpreader;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NikkudimSpreaderBenchmark {
+	@Param({"WORD", "SENTENCE", "PASSAGE", "CANTILLATED_PASSAGE", "SPREADING_PASSAGE"})
+	private Samples sample;
+
+	private String reference;
+	private String billet;
+
+	@Setup
+	public void setUp() {
+		reference = sample.vocalized;
+		billet = sample.unvocalized;
+	}
+
+	@Benchmark
+	public String getResult() {
+		return new NikkudimSpreader(reference, billet).getResult();
+	}
+
+	@Benchmark
+	public String getMetaData() {
+		return new NikkudimSpreader(reference, billet).getMetaData();
+	}
+}
@@ -0,0 +1,61 @@
+package io.github.serafimkogan.hebrewutils.benchmarks;
+
+import io.github.serafimkogan.hebrewutils.Symbols;
+
+public enum Samples {
+	WORD("חֲתוּלָה", "חתולה"),
+	SENTENCE("מִתְּחִלָּה עוֹבְדֵי עֲבוֹדָה זָרָה הָיוּ אֲבוֹתֵינוּ וְעַכְשָׁיו קֵרְבָנוּ הַמָּקוֹם לַעֲבֹדָתוֹ",
+			"מתחילה עובדי עבודה זרה היו אבותינו ועכשיו קרבנו המקום לעבודתו"),
+	PASSAGE(repeat(withoutCantillation(Texts.GENESIS), Texts.GENESIS), null),
+	CANTILLATED_PASSAGE(repeat(Texts.GENESIS, Texts.GENESIS), null),
+	SPREADING_PASSAGE(repeat(Texts.SPREADING_REFERENCE, Texts.SPREADING_REFERENCE),
+			repeat(Texts.SPREADING_BILLET, Texts.SPREADING_REFERENCE));
+
+	private static final int PASSAGE_LENGTH = 4096;
+
+	final String vocalized;
+	final String unvocalized;
+
+	Samples(String vocalized, String unvocalized) {
+		this.vocalized = vocalized;
+		this.unvocalized = unvocalized != null ? unvocalized : Symbols.Hebrew.removeDiacritics(vocalized);
+	}
+
+	private static String repeat(String text, String measure) {
+		int times = (PASSAGE_LENGTH + measure.length()) / (measure.length() + 1);
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			if (i > 0)
+				builder.append(Symbols.space);
+			builder.append(text);
+		}
+
+		return builder.toString();
+	}
+
+	private static String withoutCantillation(String text) {
+		StringBuilder builder = new StringBuilder();
+		for (char ch : text.toCharArray())
+			if (ch < Symbols.Hebrew.etnahta || ch > 'ׯ' || ch >= 'ְ' && ch != 'ֽ' && ch != '׀')
+				builder.append(ch);
+
+		return builder.toString();
+	}
+
+	private static class Texts {
+		private static final String GENESIS = "בְּרֵאשִׁ֖ית בָּרָ֣א אֱלֹהִ֑ים אֵ֥ת הַשָּׁמַ֖יִם וְאֵ֥ת הָאָֽרֶץ׃ "
+				+ "וְהָאָ֗רֶץ הָיְתָ֥ה תֹ֙הוּ֙ וָבֹ֔הוּ וְחֹ֖שֶׁךְ עַל־פְּנֵ֣י תְה֑וֹם וְר֣וּחַ אֱלֹהִ֔ים מְרַחֶ֖פֶת עַל־פְּנֵ֥י הַמָּֽיִם׃ "
+				+ "וַיֹּ֥אמֶר אֱלֹהִ֖ים יְהִ֣י א֑וֹר וַֽיְהִי־אֽוֹר׃ "
+				+ "וַיַּ֧רְא אֱלֹהִ֛ים אֶת־הָא֖וֹר כִּי־ט֑וֹב וַיַּבְדֵּ֣ל אֱלֹהִ֔ים בֵּ֥ין הָא֖וֹר וּבֵ֥ין הַחֹֽשֶׁךְ׃ "
+				+ "וַיִּקְרָ֨א אֱלֹהִ֤ים ׀ לָאוֹר֙ י֔וֹם וְלַחֹ֖שֶׁךְ קָ֣רָא לָ֑יְלָה וַֽיְהִי־עֶ֥רֶב וַֽיְהִי־בֹ֖קֶר י֥וֹם אֶחָֽד׃";
+
+		private static final String SPREADING_REFERENCE = "טַיֶּסֶתָהּ רִגּוּל תַּעֲשִׂיָּתִי שַׁמְרָנַי אֲבוֹתַי אָזְנֵי אֵיבוֹתַי "
+				+ "תִּסְמֹנֶת הָאַף הַלָּבָן בִּכּוּרַיִךְ גְּבִינוֹתַי אֲסֵפַתְכֶם אַוָּזֵי אֲוִירוֹת "
+				+ "הִתְיַקְּרֻיּוֹת זָוִיּוֹת חִוּוּט סְתָו סִיֹּמֶת";
+
+		private static final String SPREADING_BILLET = "טייסתה ריגול תעשייתי שמרניי אבותיי אוזני איבותיי "
+				+ "תסמונת האף הלבן בכורייך גבינותיי אסיפתכם אווזי אווירות "
+				+ "התייקרויות זוויות חיווט סתיו סיומת";
+	}
+}
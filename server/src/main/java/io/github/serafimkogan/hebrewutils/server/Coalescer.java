@@ -0,0 +1,139 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/*
+ * Gathers texts submitted one at a time by concurrent requests into batches for a single worker thread.
+ * Whatever arrived while the previous batch was running makes the next one, so under load the batches grow
+ * by themselves and a lone request waits for nothing. A window makes the worker wait that long for more
+ * texts after the first one, trading latency for larger batches.
+ */
+final class Coalescer implements AutoCloseable {
+	private final UnaryOperator<String[]> batch;
+	private final int maxBatch;
+	private final long windowNanos;
+	private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+	private final Thread worker;
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder texts = new LongAdder();
+	private volatile boolean closed;
+
+	Coalescer(String name, UnaryOperator<String[]> batch, int maxBatch, long windowNanos) {
+		if (maxBatch < 1)
+			throw new IllegalArgumentException("Batch size must be positive: " + maxBatch);
+		if (windowNanos < 0)
+			throw new IllegalArgumentException("Window cannot be negative: " + windowNanos);
+
+		this.batch = Objects.requireNonNull(batch, "Batch cannot be null");
+		this.maxBatch = maxBatch;
+		this.windowNanos = windowNanos;
+		this.worker = new Thread(this::run, name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	CompletableFuture<String> submit(String text) {
+		Objects.requireNonNull(text, "Text cannot be null");
+		if (closed)
+			throw new IllegalStateException("Coalescer is closed");
+
+		Pending pending = new Pending(text);
+		queue.add(pending);
+		// Closed since the check above, and the worker may have already failed what it left
+		if (closed && queue.remove(pending))
+			fail(List.of(pending));
+
+		return pending.result;
+	}
+
+	long getBatchCount() {
+		return batches.sum();
+	}
+
+	long getTextCount() {
+		return texts.sum();
+	}
+
+	private void run() {
+		List<Pending> pendings = new ArrayList<>(maxBatch);
+		while (!closed) {
+			try {
+				pendings.add(queue.take());
+				queue.drainTo(pendings, maxBatch - pendings.size());
+
+				long deadline = System.nanoTime() + windowNanos;
+				while (pendings.size() < maxBatch) {
+					long remaining = deadline - System.nanoTime();
+					Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+					if (next == null)
+						break;
+					pendings.add(next);
+					queue.drainTo(pendings, maxBatch - pendings.size());
+				}
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			complete(pendings);
+			pendings.clear();
+		}
+
+		fail(pendings);
+		List<Pending> left = new ArrayList<>();
+		queue.drainTo(left);
+		fail(left);
+	}
+
+	private void complete(List<Pending> pendings) {
+		String[] in = new String[pendings.size()];
+		for (int i = 0; i < in.length; i++)
+			in[i] = pendings.get(i).text;
+
+		String[] out;
+		try {
+			out = batch.apply(in);
+		} catch (RuntimeException | Error e) {
+			for (Pending pending : pendings)
+				pending.result.completeExceptionally(e);
+			return;
+		}
+
+		batches.increment();
+		texts.add(in.length);
+		for (int i = 0; i < out.length; i++)
+			pendings.get(i).result.complete(out[i]);
+	}
+
+	private static void fail(List<Pending> pendings) {
+		for (Pending pending : pendings)
+			pending.result.completeExceptionally(new IllegalStateException("Coalescer is closed"));
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		worker.interrupt();
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class Pending {
+		private final String text;
+		private final CompletableFuture<String> result = new CompletableFuture<>();
+
+		private Pending(String text) {
+			this.text = text;
+		}
+	}
+}
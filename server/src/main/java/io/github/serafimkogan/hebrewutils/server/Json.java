@@ -0,0 +1,259 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Just enough JSON for the requests and responses of the server: objects become LinkedHashMaps, arrays
+ * ArrayLists, numbers Longs or Doubles, and the rest Strings, Booleans and null.
+ *
+ * Objects and arrays are read recursively, so their nesting is capped well below what would overflow the
+ * stack of a request thread, and deeper input fails like any other malformed one.
+ */
+final class Json {
+	static final int MAX_DEPTH = 64;
+
+	private final String source;
+	private int position;
+	private int depth;
+
+	private Json(String source) {
+		this.source = source;
+	}
+
+	static Object parse(String source) {
+		Json json = new Json(source);
+		Object value = json.readValue();
+		json.skipWhitespace();
+		if (json.position < source.length())
+			throw json.error("Unexpected characters after the value");
+
+		return value;
+	}
+
+	static String write(Object value) {
+		StringBuilder out = new StringBuilder();
+		write(value, out);
+		return out.toString();
+	}
+
+	static void write(Object value, StringBuilder out) {
+		if (value == null) {
+			out.append("null");
+		} else if (value instanceof String) {
+			quote((String) value, out);
+		} else if (value instanceof Number || value instanceof Boolean) {
+			out.append(value);
+		} else if (value instanceof Map) {
+			out.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first)
+					out.append(',');
+				first = false;
+				quote(String.valueOf(entry.getKey()), out);
+				out.append(':');
+				write(entry.getValue(), out);
+			}
+			out.append('}');
+		} else if (value instanceof List) {
+			out.append('[');
+			boolean first = true;
+			for (Object element : (List<?>) value) {
+				if (!first)
+					out.append(',');
+				first = false;
+				write(element, out);
+			}
+			out.append(']');
+		} else {
+			throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as JSON");
+		}
+	}
+
+	private static void quote(String text, StringBuilder out) {
+		out.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			switch (ch) {
+				case '"': out.append("\\\""); break;
+				case '\\': out.append("\\\\"); break;
+				case '\n': out.append("\\n"); break;
+				case '\r': out.append("\\r"); break;
+				case '\t': out.append("\\t"); break;
+				default:
+					if (ch < 0x20)
+						out.append(String.format("\\u%04x", (int) ch));
+					else
+						out.append(ch);
+			}
+		}
+		out.append('"');
+	}
+
+	private Object readValue() {
+		skipWhitespace();
+		if (position == source.length())
+			throw error("Unexpected end of input");
+
+		char ch = source.charAt(position);
+		switch (ch) {
+			case '{': return readObject();
+			case '[': return readArray();
+			case '"': return readString();
+			case 't': return readLiteral("true", Boolean.TRUE);
+			case 'f': return readLiteral("false", Boolean.FALSE);
+			case 'n': return readLiteral("null", null);
+			default:
+				if (ch == '-' || ch >= '0' && ch <= '9')
+					return readNumber();
+				throw error("Unexpected character '" + ch + "'");
+		}
+	}
+
+	private Map<String, Object> readObject() {
+		enter();
+		Map<String, Object> object = new LinkedHashMap<>();
+		position++;
+		skipWhitespace();
+		if (consume('}')) {
+			depth--;
+			return object;
+		}
+
+		do {
+			skipWhitespace();
+			if (position == source.length() || source.charAt(position) != '"')
+				throw error("Expected a key");
+			String key = readString();
+			skipWhitespace();
+			if (!consume(':'))
+				throw error("Expected ':'");
+			object.put(key, readValue());
+			skipWhitespace();
+		} while (consume(','));
+
+		if (!consume('}'))
+			throw error("Expected ',' or '}'");
+		depth--;
+		return object;
+	}
+
+	private List<Object> readArray() {
+		enter();
+		List<Object> array = new ArrayList<>();
+		position++;
+		skipWhitespace();
+		if (consume(']')) {
+			depth--;
+			return array;
+		}
+
+		do {
+			array.add(readValue());
+			skipWhitespace();
+		} while (consume(','));
+
+		if (!consume(']'))
+			throw error("Expected ',' or ']'");
+		depth--;
+		return array;
+	}
+
+	private void enter() {
+		if (++depth > MAX_DEPTH)
+			throw error("Nesting is deeper than " + MAX_DEPTH);
+	}
+
+	private String readString() {
+		position++;
+		StringBuilder text = new StringBuilder();
+		while (position < source.length()) {
+			char ch = source.charAt(position++);
+			if (ch == '"')
+				return text.toString();
+			if (ch != '\\') {
+				text.append(ch);
+				continue;
+			}
+
+			if (position == source.length())
+				break;
+			char escaped = source.charAt(position++);
+			switch (escaped) {
+				case '"': case '\\': case '/': text.append(escaped); break;
+				case 'b': text.append('\b'); break;
+				case 'f': text.append('\f'); break;
+				case 'n': text.append('\n'); break;
+				case 'r': text.append('\r'); break;
+				case 't': text.append('\t'); break;
+				case 'u':
+					if (position + 4 > source.length())
+						throw error("Unfinished escape");
+					try {
+						text.append((char) Integer.parseInt(source.substring(position, position + 4), 16));
+					} catch (NumberFormatException e) {
+						throw error("Malformed escape");
+					}
+					position += 4;
+					break;
+				default:
+					throw error("Unknown escape '\\" + escaped + "'");
+			}
+		}
+
+		throw error("Unfinished string");
+	}
+
+	private Object readNumber() {
+		int start = position;
+		boolean integral = true;
+		while (position < source.length()) {
+			char ch = source.charAt(position);
+			if (ch == '.' || ch == 'e' || ch == 'E')
+				integral = false;
+			else if (!(ch == '-' || ch == '+' || ch >= '0' && ch <= '9'))
+				break;
+			position++;
+		}
+
+		String number = source.substring(start, position);
+		try {
+			return integral ? (Object) Long.parseLong(number) : (Object) Double.parseDouble(number);
+		} catch (NumberFormatException e) {
+			throw error("Malformed number \"" + number + "\"");
+		}
+	}
+
+	private Object readLiteral(String literal, Object value) {
+		if (!source.startsWith(literal, position))
+			throw error("Unexpected character '" + source.charAt(position) + "'");
+
+		position += literal.length();
+		return value;
+	}
+
+	private boolean consume(char ch) {
+		if (position < source.length() && source.charAt(position) == ch) {
+			position++;
+			return true;
+		}
+
+		return false;
+	}
+
+	private void skipWhitespace() {
+		while (position < source.length()) {
+			char ch = source.charAt(position);
+			if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r')
+				break;
+			position++;
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + position);
+	}
+}
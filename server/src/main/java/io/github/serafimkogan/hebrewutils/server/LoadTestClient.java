@@ -0,0 +1,225 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.serafimkogan.hebrewutils.Symbols;
+
+/*
+ * Keeps a number of connections busy with requests of random words for a while and prints the throughput
+ * and the latency percentiles of what was measured after the warm-up. A batch of 0 sends single texts,
+ * which the server coalesces, and a larger one sends arrays of that many texts.
+ */
+public final class LoadTestClient {
+	private static final String WORDS = "מִתְּחִלָּה עוֹבְדֵי עֲבוֹדָה זָרָה הָיוּ אֲבוֹתֵינוּ וְעַכְשָׁיו קֵרְבָנוּ הַמָּקוֹם לַעֲבֹדָתוֹ "
+			+ "רַבִּי עֲקִיבָא אוֹמֵר שְׂחוֹק וְקַלּוּת רֹאשׁ מַרְגִּילִין לְעֶרְוָה מָסֹרֶת סְיָג לַתּוֹרָה חֲתוּלָה "
+			+ "בְּרֵאשִׁית בָּרָא אֱלֹהִים אֵת הַשָּׁמַיִם וְאֵת הָאָרֶץ וְהָאָרֶץ הָיְתָה תֹהוּ וָבֹהוּ";
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final URI uri;
+	private final String endpoint;
+	private final int batch;
+	private final String[] words;
+
+	public LoadTestClient(int port, String endpoint, int batch, List<String> words) {
+		if (!endpoint.equals("cyrillize") && !endpoint.equals("remove-diacritics") && !endpoint.equals("spread"))
+			throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+		if (batch < 0)
+			throw new IllegalArgumentException("Batch size cannot be negative: " + batch);
+		if (words.isEmpty())
+			throw new IllegalArgumentException("Words cannot be empty");
+
+		this.uri = URI.create("http://127.0.0.1:" + port + "/" + endpoint);
+		this.endpoint = endpoint;
+		this.batch = batch;
+		this.words = words.toArray(new String[0]);
+	}
+
+	public static List<String> defaultWords() {
+		return Arrays.asList(WORDS.split(" "));
+	}
+
+	public static List<String> readWords(Path path) throws IOException {
+		List<String> words = new ArrayList<>();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8))
+			for (String word : line.trim().split("\\s+"))
+				if (!word.isEmpty())
+					words.add(word);
+
+		return words;
+	}
+
+	public Result run(int connections, long warmupMillis, long measureMillis) throws InterruptedException {
+		if (connections < 1)
+			throw new IllegalArgumentException("Connections count must be positive: " + connections);
+
+		long start = System.nanoTime();
+		long measureStart = start + warmupMillis * 1_000_000;
+		long end = measureStart + measureMillis * 1_000_000;
+		LongAdder errors = new LongAdder();
+
+		Worker[] workers = new Worker[connections];
+		Thread[] threads = new Thread[connections];
+		for (int i = 0; i < connections; i++) {
+			workers[i] = new Worker(measureStart, end, errors);
+			threads[i] = new Thread(workers[i], "load-" + i);
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+
+		int count = 0;
+		for (Worker worker : workers)
+			count += worker.count;
+		long[] latencies = new long[count];
+		int offset = 0;
+		for (Worker worker : workers) {
+			System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+			offset += worker.count;
+		}
+		Arrays.sort(latencies);
+
+		return new Result(latencies, Math.max(1, batch), measureMillis, errors.sum());
+	}
+
+	private String newRequest() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Map<String, Object> request = new LinkedHashMap<>();
+		if (batch == 0) {
+			putInput(request, words[random.nextInt(words.length)]);
+			return Json.write(request);
+		}
+
+		List<Object> inputs = new ArrayList<>(batch);
+		for (int i = 0; i < batch; i++) {
+			String word = words[random.nextInt(words.length)];
+			if (endpoint.equals("spread")) {
+				Map<String, Object> pair = new LinkedHashMap<>();
+				putInput(pair, word);
+				inputs.add(pair);
+			} else {
+				inputs.add(word);
+			}
+		}
+		request.put(endpoint.equals("spread") ? "pairs" : "texts", inputs);
+
+		return Json.write(request);
+	}
+
+	private void putInput(Map<String, Object> request, String word) {
+		if (endpoint.equals("spread")) {
+			request.put("reference", word);
+			request.put("billet", Symbols.Hebrew.removeDiacritics(word));
+		} else {
+			request.put("text", word);
+		}
+	}
+
+	private final class Worker implements Runnable {
+		private final long measureStart;
+		private final long end;
+		private final LongAdder errors;
+		private long[] latencies = new long[1024];
+		private int count;
+
+		private Worker(long measureStart, long end, LongAdder errors) {
+			this.measureStart = measureStart;
+			this.end = end;
+			this.errors = errors;
+		}
+
+		@Override
+		public void run() {
+			long now;
+			while ((now = System.nanoTime()) < end) {
+				HttpRequest request = HttpRequest.newBuilder(uri)
+						.header("Content-Type", "application/json; charset=utf-8")
+						.POST(HttpRequest.BodyPublishers.ofString(newRequest(), StandardCharsets.UTF_8))
+						.build();
+
+				boolean failed;
+				try {
+					failed = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).statusCode() != 200;
+				} catch (IOException e) {
+					failed = true;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+
+				long latency = System.nanoTime() - now;
+				if (now < measureStart)
+					continue;
+				if (failed) {
+					errors.increment();
+					continue;
+				}
+
+				if (count == latencies.length)
+					latencies = Arrays.copyOf(latencies, count * 2);
+				latencies[count++] = latency;
+			}
+		}
+	}
+
+	public static final class Result {
+		private final long[] latencies;
+		private final int batch;
+		private final long millis;
+		private final long errors;
+
+		private Result(long[] latencies, int batch, long millis, long errors) {
+			this.latencies = latencies;
+			this.batch = batch;
+			this.millis = millis;
+			this.errors = errors;
+		}
+
+		public int getRequestCount() {
+			return latencies.length;
+		}
+
+		public long getErrorCount() {
+			return errors;
+		}
+
+		public double getRequestsPerSecond() {
+			return latencies.length * 1000.0 / millis;
+		}
+
+		public double getTextsPerSecond() {
+			return getRequestsPerSecond() * batch;
+		}
+
+		// The latency in nanoseconds that the given share of the requests did not exceed
+		public long getPercentile(double percentile) {
+			if (latencies.length == 0)
+				return 0;
+
+			int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+			return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+		}
+
+		public void print(PrintStream out) {
+			out.printf("requests %d, errors %d, in %.1f s%n", latencies.length, errors, millis / 1000.0);
+			out.printf("throughput %.1f requests/s, %.1f texts/s%n", getRequestsPerSecond(), getTextsPerSecond());
+			out.printf("latency p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+					getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6,
+					getPercentile(99.9) / 1e6, getPercentile(100) / 1e6);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import io.github.serafimkogan.hebrewutils.InMemoryMetrics;
+import io.github.serafimkogan.hebrewutils.Metrics;
+
+public class ServerRunner {
+	private static final String USAGE = String.join(System.lineSeparator(),
+			"Usage:",
+			"  serve [--port 8080] [--threads 0] [--max-batch 256] [--window-micros 0] [--metrics]",
+			"  load [--port 8080] [--endpoint cyrillize|remove-diacritics|spread] [--connections 16]",
+			"       [--batch 0] [--warmup 3] [--seconds 10] [--words file]");
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0 || !args[0].equals("serve") && !args[0].equals("load")) {
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		Map<String, String> options = parseOptions(args);
+		if (args[0].equals("serve"))
+			serve(options);
+		else
+			load(options);
+	}
+
+	private static void serve(Map<String, String> options) throws Exception {
+		if (options.containsKey("metrics"))
+			Metrics.install(new InMemoryMetrics());
+
+		TransliterationServer server = new TransliterationServer(getInt(options, "port", 8080),
+				getInt(options, "threads", 0), getInt(options, "max-batch", 256), getInt(options, "window-micros", 0));
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		server.start();
+		System.out.println("Listening on http://127.0.0.1:" + server.getPort());
+
+		new CountDownLatch(1).await();
+	}
+
+	private static void load(Map<String, String> options) throws Exception {
+		List<String> words = options.containsKey("words")
+				? LoadTestClient.readWords(Path.of(options.get("words")))
+				: LoadTestClient.defaultWords();
+
+		LoadTestClient client = new LoadTestClient(getInt(options, "port", 8080),
+				options.getOrDefault("endpoint", "cyrillize"), getInt(options, "batch", 0), words);
+		client.run(getInt(options, "connections", 16), getInt(options, "warmup", 3) * 1000L,
+				getInt(options, "seconds", 10) * 1000L).print(System.out);
+	}
+
+	// Options are "--name value", or just "--name" for a flag
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 1; i < args.length; i++) {
+			if (!args[i].startsWith("--"))
+				throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+
+			String name = args[i].substring(2);
+			if (i + 1 < args.length && !args[i + 1].startsWith("--"))
+				options.put(name, args[++i]);
+			else
+				options.put(name, "");
+		}
+
+		return options;
+	}
+
+	private static int getInt(Map<String, String> options, String name, int defaultValue) {
+		String value = options.get(name);
+		if (value == null)
+			return defaultValue;
+
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("--" + name + " must be a number: \"" + value + "\"");
+		}
+	}
+}
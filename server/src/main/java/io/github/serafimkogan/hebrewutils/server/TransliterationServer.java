@@ -0,0 +1,314 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.serafimkogan.hebrewutils.CyrillizerEngine;
+import io.github.serafimkogan.hebrewutils.InMemoryMetrics;
+import io.github.serafimkogan.hebrewutils.Metrics;
+import io.github.serafimkogan.hebrewutils.NikkudimSpreader;
+import io.github.serafimkogan.hebrewutils.Symbols;
+
+/*
+ * Cyrillizer, NikkudimSpreader and removeDiacritics over HTTP on the loopback interface, so that several
+ * tools share one warmed-up JVM. Every endpoint takes a JSON object with either one input or an array
+ * of them:
+ *
+ *   POST /cyrillize           {"text": "..."} or {"texts": [...]}
+ *   POST /remove-diacritics   {"text": "..."} or {"texts": [...]}
+ *   POST /spread              {"reference": "...", "billet": "..."} or {"pairs": [{...}, ...]}
+ *   GET  /stats               how the single texts were coalesced
+ *   GET  /metrics             the InMemoryMetrics snapshot, if those are installed
+ *
+ * Single texts of concurrent requests are gathered into batches by a Coalescer, while arrays go to the
+ * batch methods of the library directly. A spread is too much work for batching to pay off, so single
+ * pairs are spread on the request thread.
+ */
+public final class TransliterationServer implements AutoCloseable {
+	private static final int MAX_BODY_LENGTH = 16 * 1024 * 1024;
+	private static final String JSON = "application/json; charset=utf-8";
+
+	static {
+		// Otherwise the JDK server keeps Nagle's algorithm on, and small responses wait for delayed acks
+		if (System.getProperty("sun.net.httpserver.nodelay") == null)
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final CyrillizerEngine engine = new CyrillizerEngine();
+	private final Coalescer cyrillizer;
+	private final Coalescer diacritics;
+
+	/*
+	 * A threads count of 0 runs every request on its own virtual thread if the JDK has them, and on a pool
+	 * sized for blocked request threads otherwise. A window of 0 makes the batches of whatever is waiting.
+	 */
+	public TransliterationServer(int port, int threads, int maxBatch, long windowMicros) throws IOException {
+		if (threads < 0)
+			throw new IllegalArgumentException("Threads count cannot be negative: " + threads);
+		if (maxBatch < 1)
+			throw new IllegalArgumentException("Batch size must be positive: " + maxBatch);
+		if (windowMicros < 0)
+			throw new IllegalArgumentException("Window cannot be negative: " + windowMicros);
+
+		// Bound before any thread is started, so that a port in use leaves nothing running behind
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+		cyrillizer = new Coalescer("cyrillize-coalescer", engine::transliterateAll, maxBatch, windowMicros * 1000);
+		diacritics = new Coalescer("remove-diacritics-coalescer", TransliterationServer::removeDiacritics,
+				maxBatch, windowMicros * 1000);
+		executor = threads == 0 ? newExecutor() : Executors.newFixedThreadPool(threads, new RequestThreadFactory());
+
+		server.setExecutor(executor);
+		server.createContext("/cyrillize", exchange -> post(exchange, this::cyrillize));
+		server.createContext("/remove-diacritics", exchange -> post(exchange, this::removeDiacritics));
+		server.createContext("/spread", exchange -> post(exchange, TransliterationServer::spread));
+		server.createContext("/stats", this::stats);
+		server.createContext("/metrics", TransliterationServer::metrics);
+	}
+
+	public TransliterationServer start() {
+		server.start();
+		return this;
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		cyrillizer.close();
+		diacritics.close();
+		executor.shutdownNow();
+	}
+
+	private Object cyrillize(Map<String, Object> request) {
+		if (request.containsKey("texts"))
+			return Map.of("results", engine.transliterateAll(getStrings(request, "texts")));
+
+		return Map.of("result", join(cyrillizer, getString(request, "text")));
+	}
+
+	private Object removeDiacritics(Map<String, Object> request) {
+		if (request.containsKey("texts"))
+			return Map.of("results", List.of(removeDiacritics(getStrings(request, "texts").toArray(new String[0]))));
+
+		return Map.of("result", join(diacritics, getString(request, "text")));
+	}
+
+	private static String[] removeDiacritics(String[] texts) {
+		String[] results = new String[texts.length];
+		for (int i = 0; i < texts.length; i++)
+			results[i] = Symbols.Hebrew.removeDiacritics(texts[i]);
+
+		return results;
+	}
+
+	private static Object spread(Map<String, Object> request) {
+		if (!request.containsKey("pairs"))
+			return describe(NikkudimSpreader.trySpread(getString(request, "reference"), getString(request, "billet")));
+
+		List<Map.Entry<String, String>> pairs = new ArrayList<>();
+		for (Object pair : getList(request, "pairs")) {
+			if (!(pair instanceof Map))
+				throw new IllegalArgumentException("\"pairs\" must hold objects");
+			@SuppressWarnings("unchecked")
+			Map<String, Object> map = (Map<String, Object>) pair;
+			pairs.add(new AbstractMap.SimpleImmutableEntry<>(getString(map, "reference"), getString(map, "billet")));
+		}
+
+		NikkudimSpreader.Report report = NikkudimSpreader.spreadAll(pairs);
+		List<Object> results = new ArrayList<>(report.size());
+		for (int i = 0; i < report.size(); i++)
+			results.add(describe(report.getOutcome(i)));
+
+		return Map.of("results", results);
+	}
+
+	private static Map<String, Object> describe(NikkudimSpreader.Outcome outcome) {
+		Map<String, Object> description = new LinkedHashMap<>();
+		if (outcome.isSuccess()) {
+			description.put("result", outcome.getResult());
+		} else {
+			description.put("failure", outcome.getFailure().name());
+			description.put("wordIndex", outcome.getWordIndex());
+		}
+
+		return description;
+	}
+
+	private static String join(Coalescer coalescer, String text) {
+		try {
+			return coalescer.submit(text).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+
+	private void stats(HttpExchange exchange) throws IOException {
+		if (!allow(exchange, "GET"))
+			return;
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("cyrillize", describe(cyrillizer));
+		stats.put("removeDiacritics", describe(diacritics));
+		respond(exchange, 200, JSON, Json.write(stats));
+	}
+
+	private static Map<String, Object> describe(Coalescer coalescer) {
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("batches", coalescer.getBatchCount());
+		description.put("texts", coalescer.getTextCount());
+
+		return description;
+	}
+
+	private static void metrics(HttpExchange exchange) throws IOException {
+		if (!allow(exchange, "GET"))
+			return;
+
+		Metrics metrics = Metrics.current();
+		if (metrics instanceof InMemoryMetrics)
+			respond(exchange, 200, "text/plain; charset=utf-8", ((InMemoryMetrics) metrics).snapshot().toString());
+		else
+			respond(exchange, 404, JSON, error("No in-memory metrics are installed"));
+	}
+
+	private static void post(HttpExchange exchange, Function<Map<String, Object>, Object> action) throws IOException {
+		if (!allow(exchange, "POST"))
+			return;
+
+		String response;
+		try {
+			Object request = Json.parse(readBody(exchange));
+			if (!(request instanceof Map))
+				throw new IllegalArgumentException("Request must be a JSON object");
+
+			@SuppressWarnings("unchecked")
+			Map<String, Object> map = (Map<String, Object>) request;
+			response = Json.write(action.apply(map));
+		} catch (BodyTooLongException e) {
+			respond(exchange, 413, JSON, error("Request body is longer than " + MAX_BODY_LENGTH + " bytes"));
+			return;
+		} catch (IllegalArgumentException e) {
+			respond(exchange, 400, JSON, error(e.getMessage()));
+			return;
+		} catch (RuntimeException e) {
+			respond(exchange, 500, JSON, error(String.valueOf(e)));
+			return;
+		}
+
+		respond(exchange, 200, JSON, response);
+	}
+
+	private static boolean allow(HttpExchange exchange, String method) throws IOException {
+		if (method.equals(exchange.getRequestMethod()))
+			return true;
+
+		exchange.getResponseHeaders().set("Allow", method);
+		respond(exchange, 405, JSON, error("Only " + method + " is allowed"));
+		return false;
+	}
+
+	private static String readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_BODY_LENGTH + 1);
+			if (body.length > MAX_BODY_LENGTH)
+				throw new BodyTooLongException();
+
+			return new String(body, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static String error(String message) {
+		return Json.write(Map.of("error", String.valueOf(message)));
+	}
+
+	private static String getString(Map<String, Object> request, String key) {
+		Object value = request.get(key);
+		if (!(value instanceof String))
+			throw new IllegalArgumentException("\"" + key + "\" must be a string");
+
+		return (String) value;
+	}
+
+	private static List<?> getList(Map<String, Object> request, String key) {
+		Object value = request.get(key);
+		if (!(value instanceof List))
+			throw new IllegalArgumentException("\"" + key + "\" must be an array");
+
+		return (List<?>) value;
+	}
+
+	private static List<String> getStrings(Map<String, Object> request, String key) {
+		List<String> strings = new ArrayList<>();
+		for (Object value : getList(request, key)) {
+			if (!(value instanceof String))
+				throw new IllegalArgumentException("\"" + key + "\" must hold strings");
+			strings.add((String) value);
+		}
+
+		return strings;
+	}
+
+	/*
+	 * Executors.newVirtualThreadPerTaskExecutor is looked up, since the module is built for Java 17. It is
+	 * missing before Java 19, and on 19 and 20 it throws UnsupportedOperationException without preview
+	 * features, which comes wrapped in an InvocationTargetException.
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()),
+					new RequestThreadFactory());
+		}
+	}
+
+	private static final class RequestThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "request-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	private static final class BodyTooLongException extends IllegalArgumentException {
+		private static final long serialVersionUID = 1L;
+	}
+}
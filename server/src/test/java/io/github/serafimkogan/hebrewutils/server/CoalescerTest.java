@@ -0,0 +1,73 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CoalescerTest {
+
+	@Test
+	public void shouldBeTrue1() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> sizes = new ArrayList<>();
+		try (Coalescer coalescer = new Coalescer("test", texts -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized (sizes) {
+				sizes.add(texts.length);
+			}
+			String[] results = new String[texts.length];
+			for (int i = 0; i < texts.length; i++)
+				results[i] = texts[i].toUpperCase();
+			return results;
+		}, 4, 0)) {
+			// The first text holds the worker, so the next ones wait for it together
+			CompletableFuture<String> first = coalescer.submit("a");
+			started.await();
+			List<CompletableFuture<String>> rest = new ArrayList<>();
+			for (char ch = 'b'; ch <= 'g'; ch++)
+				rest.add(coalescer.submit(String.valueOf(ch)));
+			release.countDown();
+
+			assertEquals("A", first.join());
+			StringBuilder results = new StringBuilder();
+			for (CompletableFuture<String> future : rest)
+				results.append(future.join());
+			assertEquals("BCDEFG", results.toString());
+			assertEquals(List.of(1, 4, 2), sizes);
+			assertEquals(3, coalescer.getBatchCount());
+			assertEquals(7, coalescer.getTextCount());
+		}
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		try (Coalescer coalescer = new Coalescer("test", texts -> {
+			throw new IllegalArgumentException("bad");
+		}, 8, 0)) {
+			CompletionException e = assertThrows(CompletionException.class, () -> coalescer.submit("a").join());
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void shouldThrowIllegalStateException() {
+		Coalescer coalescer = new Coalescer("test", texts -> texts, 8, 0);
+		coalescer.close();
+		assertThrows(IllegalStateException.class, () -> coalescer.submit("a"));
+	}
+}
@@ -0,0 +1,55 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+
+public class JsonTest {
+
+	@Test
+	public void shouldBeTrue1() {
+		Object value = Json.parse(" {\"texts\": [\"שָׁלוֹם\", \"a\\\"b\\u05d0\"], \"n\": -12, \"x\": 1.5e2, \"ok\": true, \"none\": null} ");
+		Map<String, Object> expected = new LinkedHashMap<>();
+		expected.put("texts", Arrays.asList("שָׁלוֹם", "a\"bא"));
+		expected.put("n", -12L);
+		expected.put("x", 150.0);
+		expected.put("ok", true);
+		expected.put("none", null);
+		assertEquals(expected, value);
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		Map<String, Object> value = new LinkedHashMap<>();
+		value.put("result", "צה\"ל\n\\\u0001");
+		value.put("results", List.of(1, false));
+		String json = Json.write(value);
+		assertEquals("{\"result\":\"צה\\\"ל\\n\\\\\\u0001\",\"results\":[1,false]}", json);
+		assertEquals(Map.of("result", "צה\"ל\n\\\u0001", "results", List.of(1L, false)), Json.parse(json));
+	}
+
+	@Test
+	public void shouldThrowIllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"text\": }"));
+		assertThrows(IllegalArgumentException.class, () -> Json.parse("[1, 2"));
+		assertThrows(IllegalArgumentException.class, () -> Json.parse("\"unfinished"));
+		assertThrows(IllegalArgumentException.class, () -> Json.parse("{} {}"));
+		assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(100000)));
+		assertThrows(IllegalArgumentException.class,
+				() -> Json.parse("[".repeat(Json.MAX_DEPTH + 1) + "]".repeat(Json.MAX_DEPTH + 1)));
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		String nested = "{\"a\":".repeat(Json.MAX_DEPTH / 2) + "[".repeat(Json.MAX_DEPTH / 2)
+				+ "]".repeat(Json.MAX_DEPTH / 2) + "}".repeat(Json.MAX_DEPTH / 2);
+		assertEquals(nested, Json.write(Json.parse(nested)));
+	}
+}
@@ -0,0 +1,118 @@
+package io.github.serafimkogan.hebrewutils.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.serafimkogan.hebrewutils.Cyrillizer;
+import io.github.serafimkogan.hebrewutils.NikkudimSpreader;
+
+
+public class TransliterationServerTest {
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private TransliterationServer server;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new TransliterationServer(0, 0, 64, 0).start();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		server.close();
+	}
+
+	@Test
+	public void shouldBeTrue1() throws Exception {
+		assertEquals(Map.of("result", new Cyrillizer("שָׁלוֹם").getResult()),
+				Json.parse(post("/cyrillize", "{\"text\": \"שָׁלוֹם\"}").body()));
+		assertEquals(Map.of("results", List.of(new Cyrillizer("חֲתוּלָה").getResult(), new Cyrillizer("רֹאשׁ").getResult())),
+				Json.parse(post("/cyrillize", "{\"texts\": [\"חֲתוּלָה\", \"רֹאשׁ\"]}").body()));
+		assertEquals(Map.of("result", "צה''ל שלום"),
+				Json.parse(post("/remove-diacritics", "{\"text\": \"צה״ל שָׁלוֹם\"}").body()));
+		assertEquals(Map.of("results", List.of("חתולה")),
+				Json.parse(post("/remove-diacritics", "{\"texts\": [\"חֲתוּלָה\"]}").body()));
+	}
+
+	@Test
+	public void shouldBeTrue2() throws Exception {
+		assertEquals(Map.of("result", new NikkudimSpreader("אֲבוֹתֵינוּ", "אבותינו").getResult()),
+				Json.parse(post("/spread", "{\"reference\": \"אֲבוֹתֵינוּ\", \"billet\": \"אבותינו\"}").body()));
+
+		NikkudimSpreader.Outcome failure = NikkudimSpreader.trySpread("חֲתוּלָה", "כלב");
+		assertEquals(Map.of("results", List.of(Map.of("result", new NikkudimSpreader("חֲתוּלָה", "חתולה").getResult()),
+				Map.of("failure", failure.getFailure().name(), "wordIndex", (long) failure.getWordIndex()))),
+				Json.parse(post("/spread", "{\"pairs\": [{\"reference\": \"חֲתוּלָה\", \"billet\": \"חתולה\"},"
+						+ " {\"reference\": \"חֲתוּלָה\", \"billet\": \"כלב\"}]}").body()));
+	}
+
+	@Test
+	public void shouldBeTrue3() throws Exception {
+		List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+		for (int i = 0; i < 50; i++)
+			responses.add(client.sendAsync(request("/cyrillize", "{\"text\": \"שָׁלוֹם\"}"),
+					HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+
+		String expected = new Cyrillizer("שָׁלוֹם").getResult();
+		for (CompletableFuture<HttpResponse<String>> response : responses)
+			assertEquals(Map.of("result", expected), Json.parse(response.join().body()));
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> stats = (Map<String, Object>) ((Map<String, Object>) Json.parse(client.send(
+				HttpRequest.newBuilder(uri("/stats")).build(), HttpResponse.BodyHandlers.ofString()).body())).get("cyrillize");
+		assertEquals(50L, stats.get("texts"));
+		assertTrue((Long) stats.get("batches") <= 50);
+	}
+
+	@Test
+	public void shouldBeTrue4() throws Exception {
+		assertEquals(400, post("/cyrillize", "{\"text\": 1}").statusCode());
+		assertEquals(400, post("/cyrillize", "[\"text\"]").statusCode());
+		assertEquals(400, post("/spread", "{\"pairs\": [1]}").statusCode());
+		assertEquals(400, post("/cyrillize", "[".repeat(100000)).statusCode());
+		assertEquals(405, client.send(HttpRequest.newBuilder(uri("/cyrillize")).build(),
+				HttpResponse.BodyHandlers.ofString()).statusCode());
+		assertEquals(404, client.send(HttpRequest.newBuilder(uri("/metrics")).build(),
+				HttpResponse.BodyHandlers.ofString()).statusCode());
+	}
+
+	@Test
+	public void shouldThrowBindException() {
+		long coalescers = Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().endsWith("-coalescer")).count();
+
+		assertThrows(BindException.class, () -> new TransliterationServer(server.getPort(), 0, 64, 0));
+		assertEquals(coalescers, Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().endsWith("-coalescer")).count());
+	}
+
+	private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+		return client.send(request(path, body), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	private HttpRequest request(String path, String body) {
+		return HttpRequest.newBuilder(uri(path))
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+				.build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + server.getPort() + path);
+	}
+}
@@ -0,0 +1,216 @@
+package io.github.serafimkogan.hebrewutils;
+
+
+final class CyrillicRewriter {
+    private static final int NO_MATCH = -1;
+    private static final int NEEDS_MORE = -2;
+
+    /*
+     * The rules are the former chain of replaceAll calls in their original
+     * order. Rules sharing a stage never overlap or produce text another rule
+     * of the same stage could match, so they are applied in a single scan.
+     * Whenever an earlier rule can create or consume a match of a later one,
+     * the later rule is put into a following stage, which receives the output
+     * of the previous stage char by char.
+     */
+    static final CyrillicRewriter INSTANCE = new CyrillicRewriter(
+            new Stage(
+                    new Rule("аиа", "ая", true),
+                    new Rule("оиа", "оя", true),
+                    new Rule("ииа", "ия", true),
+                    new Rule("уиа", "уя", true),
+                    new Rule("эиа", "уя", true),
+                    new Rule("иа", "ия", true)),
+            new Stage(
+                    new Rule("айа", "ая", false)),
+            new Stage(
+                    new Rule("ойа", "оя", false),
+                    new Rule("ийа", "ия", false),
+                    new Rule("эйа", "эя", false),
+                    new Rule("уйа", "уя", false)),
+            new Stage(
+                    new Rule("аио", "аё", false),
+                    new Rule("оио", "оё", false)),
+            new Stage(
+                    new Rule("иио", "иё", false),
+                    new Rule("уио", "уё", false),
+                    new Rule("эио", "уё", false)),
+            new Stage(
+                    new Rule("ёио", "ёё", false)),
+            new Stage(
+                    new Rule("йо", "ё", false),
+                    new Rule("уо", "ё", false)),
+            new Stage(
+                    new Rule("ло", "лё", false),
+                    new Rule("лу", "лю", false),
+                    new Rule("ла", "ля", false),
+                    new Rule("лэ", "ле", false)));
+
+    private final Stage[] stages;
+
+    private CyrillicRewriter(Stage... stages) {
+        this.stages = stages;
+    }
+
+    String rewrite(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        Session session = newSession(builder);
+        session.append(text, 0, text.length());
+        session.finish();
+
+        return builder.toString();
+    }
+
+    Session newSession(StringBuilder out) {
+        return new Session(out, null);
+    }
+
+    // The output is encoded as it leaves the last stage, without collecting the chars first
+    Session newSession(Utf8.Output out) {
+        return new Session(null, out);
+    }
+
+    final class Session {
+        private final StringBuilder out;
+        private final Utf8.Output bytes;
+        private final char[][] pending = new char[stages.length][];
+        private final int[] lengths = new int[stages.length];
+
+        private Session(StringBuilder out, Utf8.Output bytes) {
+            this.out = out;
+            this.bytes = bytes;
+            for (int i = 0; i < stages.length; i++)
+                pending[i] = new char[stages[i].capacity];
+        }
+
+        void append(char ch) {
+            push(0, ch);
+        }
+
+        void append(CharSequence text, int from, int to) {
+            for (int i = from; i < to; i++)
+                push(0, text.charAt(i));
+        }
+
+        void finish() {
+            for (int i = 0; i < stages.length; i++)
+                process(i, true);
+        }
+
+        private void push(int stageIndex, char ch) {
+            if (stageIndex == stages.length) {
+                if (out != null)
+                    out.append(ch);
+                else
+                    bytes.put(ch);
+                return;
+            }
+
+            if (lengths[stageIndex] == 0 && !stages[stageIndex].startsRule(ch)) {
+                push(stageIndex + 1, ch);
+                return;
+            }
+
+            pending[stageIndex][lengths[stageIndex]++] = ch;
+            process(stageIndex, false);
+        }
+
+        private void process(int stageIndex, boolean atEnd) {
+            Stage stage = stages[stageIndex];
+            char[] buffer = pending[stageIndex];
+
+            while (lengths[stageIndex] > 0) {
+                int length = lengths[stageIndex];
+                int match = stage.match(buffer, length, atEnd);
+                if (match == NEEDS_MORE)
+                    return;
+
+                int consumed;
+                if (match == NO_MATCH) {
+                    consumed = 1;
+                    push(stageIndex + 1, buffer[0]);
+                } else {
+                    Rule rule = stage.rules[match];
+                    consumed = rule.pattern.length;
+                    for (char ch : rule.replacement)
+                        push(stageIndex + 1, ch);
+                }
+
+                System.arraycopy(buffer, consumed, buffer, 0, length - consumed);
+                lengths[stageIndex] = length - consumed;
+            }
+        }
+    }
+
+    private static final class Rule {
+        private final char[] pattern;
+        private final char[] replacement;
+        private final boolean wordBoundary;
+
+        private Rule(String pattern, String replacement, boolean wordBoundary) {
+            this.pattern = pattern.toCharArray();
+            this.replacement = replacement.toCharArray();
+            this.wordBoundary = wordBoundary;
+        }
+
+        private int match(char[] buffer, int length, boolean atEnd) {
+            int compared = Math.min(length, pattern.length);
+            for (int i = 0; i < compared; i++)
+                if (buffer[i] != pattern[i])
+                    return NO_MATCH;
+
+            if (length < pattern.length)
+                return atEnd ? NO_MATCH : NEEDS_MORE;
+
+            if (!wordBoundary)
+                return 0;
+
+            if (length == pattern.length)
+                return atEnd ? 0 : NEEDS_MORE;
+
+            return isWordCharacter(buffer[pattern.length]) ? NO_MATCH : 0;
+        }
+
+        // Same notion of a word character as \b had on the former regex chain
+        private static boolean isWordCharacter(char ch) {
+            return Character.isLetterOrDigit(ch) || ch == '_'
+                    || Character.getType(ch) == Character.NON_SPACING_MARK;
+        }
+    }
+
+    private static final class Stage {
+        private final Rule[] rules;
+        private final int capacity;
+        private final String firstChars;
+
+        private Stage(Rule... rules) {
+            this.rules = rules;
+
+            int capacity = 0;
+            StringBuilder firstChars = new StringBuilder();
+            for (Rule rule : rules) {
+                capacity = Math.max(capacity, rule.pattern.length + (rule.wordBoundary ? 1 : 0));
+                if (firstChars.indexOf(String.valueOf(rule.pattern[0])) < 0)
+                    firstChars.append(rule.pattern[0]);
+            }
+            this.capacity = capacity;
+            this.firstChars = firstChars.toString();
+        }
+
+        private boolean startsRule(char ch) {
+            return firstChars.indexOf(ch) >= 0;
+        }
+
+        private int match(char[] buffer, int length, boolean atEnd) {
+            for (int i = 0; i < rules.length; i++) {
+                int match = rules[i].match(buffer, length, atEnd);
+                if (match == NEEDS_MORE)
+                    return NEEDS_MORE;
+                if (match != NO_MATCH)
+                    return i;
+            }
+
+            return NO_MATCH;
+        }
+    }
+}
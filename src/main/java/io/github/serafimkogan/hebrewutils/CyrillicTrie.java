@@ -0,0 +1,315 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+
+/*
+ * Typeahead over the Cyrillic transliterations of dictionary entries, answering with the indices of the
+ * entries in the list the trie was built from.
+ *
+ * Nodes are numbered breadth first, so the children of a node are a contiguous run sorted by label and
+ * the whole trie is a handful of arrays. Keys and queries are folded the same way, so a query typed
+ * with the hard vowels the rewriter replaced, or with йо for ё, finds the entry.
+ */
+public final class CyrillicTrie {
+    private static final int MAGIC = 0x48554354;
+    private static final int VERSION = 1;
+
+    private final int size;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] firstEntry;
+    private final int[] entries;
+
+    private CyrillicTrie(int size, char[] labels, int[] firstChild, int[] firstEntry, int[] entries) {
+        this.size = size;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.firstEntry = firstEntry;
+        this.entries = entries;
+    }
+
+    public static CyrillicTrie build(List<String> words) {
+        Objects.requireNonNull(words, "Words cannot be null");
+
+        String[] results = new CyrillizerEngine().transliterateAll(words.toArray(new String[0]));
+        String[] keys = new String[results.length];
+        Integer[] order = new Integer[results.length];
+        for (int i = 0; i < results.length; i++) {
+            keys[i] = normalize(results[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+
+        Node root = new Node('\0');
+        int nodeCount = 1;
+        for (int entry : order) {
+            Node node = root;
+            for (int i = 0; i < keys[entry].length(); i++) {
+                char ch = keys[entry].charAt(i);
+                Node last = node.children.isEmpty() ? null : node.children.get(node.children.size() - 1);
+                if (last == null || last.label != ch) {
+                    last = new Node(ch);
+                    node.children.add(last);
+                    nodeCount++;
+                }
+                node = last;
+            }
+            node.entries.add(entry);
+        }
+
+        char[] labels = new char[nodeCount];
+        int[] firstChild = new int[nodeCount + 1];
+        int[] firstEntry = new int[nodeCount + 1];
+        int[] entries = new int[results.length];
+        Node[] queue = new Node[nodeCount];
+        queue[0] = root;
+        int tail = 1;
+        int entryCount = 0;
+        for (int head = 0; head < nodeCount; head++) {
+            Node node = queue[head];
+            labels[head] = node.label;
+            firstChild[head] = tail;
+            for (Node child : node.children)
+                queue[tail++] = child;
+            firstEntry[head] = entryCount;
+            for (int entry : node.entries)
+                entries[entryCount++] = entry;
+        }
+        firstChild[nodeCount] = tail;
+        firstEntry[nodeCount] = entryCount;
+
+        return new CyrillicTrie(results.length, labels, firstChild, firstEntry, entries);
+    }
+
+    public static CyrillicTrie readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC)
+            throw new IOException("Not a Cyrillic trie");
+        int version = data.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported Cyrillic trie version " + version);
+
+        int size = data.readInt();
+        int nodeCount = data.readInt();
+        char[] labels = new char[nodeCount];
+        for (int i = 0; i < nodeCount; i++)
+            labels[i] = data.readChar();
+
+        return new CyrillicTrie(size, labels, readInts(data, nodeCount + 1), readInts(data, nodeCount + 1),
+                readInts(data, size));
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(size);
+        data.writeInt(labels.length);
+        for (char label : labels)
+            data.writeChar(label);
+        writeInts(data, firstChild);
+        writeInts(data, firstEntry);
+        writeInts(data, entries);
+        data.flush();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Entries whose transliteration starts with the prefix, in the order of their transliterations
+    public int[] prefixSearch(String prefix, int limit) {
+        Objects.requireNonNull(prefix, "Prefix cannot be null");
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+
+        String key = normalize(prefix);
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++)
+            node = child(node, key.charAt(i));
+
+        if (node < 0)
+            return new int[0];
+
+        int[] found = new int[Math.min(limit, size)];
+
+        int count = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = node;
+        while (top > 0 && count < found.length) {
+            node = stack[--top];
+            for (int i = firstEntry[node]; i < firstEntry[node + 1] && count < found.length; i++)
+                found[count++] = entries[i];
+
+            int children = firstChild[node + 1] - firstChild[node];
+            if (top + children > stack.length)
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children));
+            for (int child = firstChild[node + 1] - 1; child >= firstChild[node]; child--)
+                stack[top++] = child;
+        }
+
+        return Arrays.copyOf(found, count);
+    }
+
+    /*
+     * Entries whose transliteration is at most the given number of insertions, deletions and
+     * substitutions away from the query, the closest first. The trie is walked with one row of the
+     * edit distance table per level, and a branch is left once its whole row exceeds the bound.
+     */
+    public int[] search(String query, int maxDistance, int limit) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        if (maxDistance < 0)
+            throw new IllegalArgumentException("Distance cannot be negative");
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+
+        String key = normalize(query);
+        Search search = new Search(key, maxDistance);
+        for (int i = 0; i <= key.length(); i++)
+            search.rows[0][i] = i;
+        search.collect(0, 0);
+
+        int[] found = new int[Math.min(limit, search.count)];
+        int count = 0;
+        for (int distance = 0; distance <= maxDistance && count < found.length; distance++)
+            for (int i = 0; i < search.count && count < found.length; i++)
+                if (search.distances[i] == distance)
+                    found[count++] = search.entries[i];
+
+        return found;
+    }
+
+    /*
+     * The rewriter turns a hard vowel after л into a soft one, лэ into ле and йо into ё, and users type
+     * either. Both are brought to the hard vowel, with й spelled out elsewhere.
+     */
+    static String normalize(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length() + 4);
+        char previous = '\0';
+        for (int i = 0; i < text.length(); i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+            switch (ch) {
+                case 'ё':
+                    builder.append(previous == 'л' ? "о" : "йо");
+                    break;
+                case 'я':
+                    builder.append(previous == 'л' ? "а" : "йа");
+                    break;
+                case 'ю':
+                    builder.append(previous == 'л' ? "у" : "йу");
+                    break;
+                case 'е':
+                    builder.append('э');
+                    break;
+                default:
+                    builder.append(ch);
+            }
+            previous = ch;
+        }
+
+        return builder.toString();
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = firstChild[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label)
+                low = middle + 1;
+            else if (labels[middle] > label)
+                high = middle - 1;
+            else
+                return middle;
+        }
+
+        return -1;
+    }
+
+    private static int[] readInts(DataInputStream data, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++)
+            values[i] = data.readInt();
+
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+        for (int value : values)
+            data.writeInt(value);
+    }
+
+    private final class Search {
+        private final String key;
+        private final int maxDistance;
+        private int[][] rows = new int[16][];
+        private int[] entries = new int[16];
+        private int[] distances = new int[16];
+        private int count;
+
+        private Search(String key, int maxDistance) {
+            this.key = key;
+            this.maxDistance = maxDistance;
+            rows[0] = new int[key.length() + 1];
+        }
+
+        private void collect(int node, int depth) {
+            int[] row = rows[depth];
+            int distance = row[key.length()];
+            if (distance <= maxDistance)
+                for (int i = firstEntry[node]; i < firstEntry[node + 1]; i++)
+                    add(CyrillicTrie.this.entries[i], distance);
+
+            if (depth + 1 == rows.length)
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            if (rows[depth + 1] == null)
+                rows[depth + 1] = new int[key.length() + 1];
+            int[] next = rows[depth + 1];
+
+            for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+                char label = labels[child];
+                next[0] = row[0] + 1;
+                int minimum = next[0];
+                for (int i = 1; i <= key.length(); i++) {
+                    int substitution = row[i - 1] + (key.charAt(i - 1) == label ? 0 : 1);
+                    next[i] = Math.min(substitution, Math.min(row[i], next[i - 1]) + 1);
+                    minimum = Math.min(minimum, next[i]);
+                }
+
+                if (minimum <= maxDistance)
+                    collect(child, depth + 1);
+            }
+        }
+
+        private void add(int entry, int distance) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+            }
+            entries[count] = entry;
+            distances[count] = distance;
+            count++;
+        }
+    }
+
+    private static final class Node {
+        private final char label;
+        private final List<Node> children = new ArrayList<>(2);
+        private final List<Integer> entries = new ArrayList<>(1);
+
+        private Node(char label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public final class CyrillizerCache {
+    // Longer segments are transliterated every time, so an entry never holds more than a word
+    static final int MAX_WORD_LENGTH = 64;
+
+    private static final int MAX_FREQUENCY = 3;
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final Entry[] clock;
+    private int hand;
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CyrillizerCache(int maximumSize) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Maximum size must be positive");
+
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>();
+        this.clock = new Entry[maximumSize];
+    }
+
+    public CompletableFuture<Void> warmUp(Collection<String> words) {
+        return warmUp(words, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Words are expected in the order of descending frequency, and the ones
+     * that do not fit into the cache are left out, as are the ones longer
+     * than any word the engine would look up.
+     */
+    public CompletableFuture<Void> warmUp(Collection<String> words, Executor executor) {
+        Objects.requireNonNull(words, "Words cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+
+        return CompletableFuture.runAsync(() -> {
+            int loaded = 0;
+            for (String word : words) {
+                if (word.length() > MAX_WORD_LENGTH)
+                    continue;
+                if (loaded++ == maximumSize)
+                    break;
+
+                for (int context = 0; context < Entry.CONTEXTS; context++) {
+                    boolean first = (context & Entry.FIRST) != 0;
+                    boolean last = (context & Entry.LAST) != 0;
+                    if (peek(word, first, last) == null)
+                        put(word, first, last, CyrillizerEngine.transliterateWord(word, first, last));
+                }
+            }
+        }, executor);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    String get(String word, boolean first, boolean last) {
+        Entry entry = entries.get(word);
+        String result = entry != null ? entry.results[Entry.context(first, last)] : null;
+        if (result == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.frequency < MAX_FREQUENCY)
+            entry.frequency++;
+        hits.increment();
+        return result;
+    }
+
+    void put(String word, boolean first, boolean last, String result) {
+        Entry entry = entries.get(word);
+        if (entry == null) {
+            synchronized (this) {
+                entry = entries.get(word);
+                if (entry == null) {
+                    entry = new Entry(word);
+                    clock[size < maximumSize ? size++ : evict()] = entry;
+                    entries.put(word, entry);
+                }
+            }
+        }
+
+        entry.results[Entry.context(first, last)] = result;
+    }
+
+    private String peek(String word, boolean first, boolean last) {
+        Entry entry = entries.get(word);
+        return entry != null ? entry.results[Entry.context(first, last)] : null;
+    }
+
+    /*
+     * CLOCK sweep over the slots: every hit raises the frequency of an entry
+     * up to MAX_FREQUENCY, and the hand lowers it by one on each pass, so the
+     * first entry found at zero is the one not read for the longest time.
+     */
+    private int evict() {
+        while (true) {
+            Entry candidate = clock[hand];
+            int slot = hand;
+            hand = (hand + 1) % maximumSize;
+
+            if (candidate.frequency > 0) {
+                candidate.frequency--;
+            } else {
+                entries.remove(candidate.word);
+                return slot;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private static final int FIRST = 1;
+        private static final int LAST = 2;
+        private static final int CONTEXTS = 4;
+
+        private final String word;
+        private final String[] results = new String[CONTEXTS];
+        private volatile int frequency;
+
+        private Entry(String word) {
+            this.word = word;
+        }
+
+        private static int context(boolean first, boolean last) {
+            return (first ? FIRST : 0) | (last ? LAST : 0);
+        }
+    }
+}
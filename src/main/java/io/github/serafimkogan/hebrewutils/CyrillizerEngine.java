@@ -0,0 +1,753 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+public final class CyrillizerEngine {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final int MAX_STREAM_BUFFER_SIZE = 1 << 16;
+    private static final int MIN_BATCH_SLICE = 64;
+    private static final int SLICES_PER_THREAD = 8;
+
+    private final CyrillizerCache cache;
+
+    public CyrillizerEngine() {
+        this.cache = null;
+    }
+
+    public CyrillizerEngine(CyrillizerCache cache) {
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+    }
+
+    public String transliterate(CharSequence in) {
+        Objects.requireNonNull(in, "Source cannot be null");
+
+        StringBuilder builder = new StringBuilder(in.length());
+        transliterate(in, 0, in.length(), builder);
+        return builder.toString();
+    }
+
+    public void transliterate(CharSequence in, Appendable out) throws IOException {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.requireNonNull(out, "Output cannot be null");
+
+        if (out instanceof StringBuilder) {
+            transliterate(in, 0, in.length(), (StringBuilder) out);
+        } else {
+            StringBuilder builder = new StringBuilder(in.length());
+            transliterate(in, 0, in.length(), builder);
+            out.append(builder);
+        }
+    }
+
+    public void transliterate(CharSequence in, int from, int to, StringBuilder out) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.requireNonNull(out, "Output cannot be null");
+        Objects.checkFromToIndex(from, to, in.length());
+
+        Metrics metrics = Metrics.current();
+        Object event = FlightRecorderHooks.beginTransliteration();
+        long start = metrics != Metrics.NOOP ? System.nanoTime() : 0;
+
+        int tokens = append(in, from, to, out);
+
+        if (event != null)
+            FlightRecorderHooks.commitTransliteration(event, to - from, tokens, cache != null, false);
+
+        if (metrics != Metrics.NOOP)
+            metrics.transliterated(to - from, tokens, System.nanoTime() - start);
+    }
+
+    // For the descriptions of calls that were measured already, such as NikkudimSpreader.getMetaData
+    String transliterateUnmeasured(CharSequence in) {
+        StringBuilder out = new StringBuilder(in.length());
+        append(in, 0, in.length(), out);
+        return out.toString();
+    }
+
+    private int append(CharSequence in, int from, int to, StringBuilder out) {
+        if (cache != null)
+            return transliterateWords(in, from, to, out);
+
+        CyrillicRewriter.Session session = CyrillicRewriter.INSTANCE.newSession(out);
+        int tokens = transliterate(in, from, to, false, true, session);
+        session.finish();
+        return tokens;
+    }
+
+    // The array is read in place through a wrapping CharBuffer
+    public void transliterate(char[] in, int offset, int length, StringBuilder out) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.checkFromIndexSize(offset, length, in.length);
+
+        transliterate(CharBuffer.wrap(in), offset, offset + length, out);
+    }
+
+    /*
+     * Writes the transliteration into out at outOffset and returns its length. The output is not
+     * bounded by the length of the input, so if it does not fit, out is left as it was and an
+     * IndexOutOfBoundsException is thrown.
+     */
+    public int transliterate(CharSequence in, int from, int to, char[] out, int outOffset) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.requireNonNull(out, "Output cannot be null");
+        Objects.checkFromToIndex(from, to, in.length());
+
+        StringBuilder builder = new StringBuilder(to - from);
+        transliterate(in, from, to, builder);
+        Objects.checkFromIndexSize(outOffset, builder.length(), out.length);
+        builder.getChars(0, builder.length(), out, outOffset);
+
+        return builder.length();
+    }
+
+    public int transliterate(char[] in, int offset, int length, char[] out, int outOffset) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.checkFromIndexSize(offset, length, in.length);
+
+        return transliterate(CharBuffer.wrap(in), offset, offset + length, out, outOffset);
+    }
+
+    /*
+     * The input is cut only between two words separated by spaces, maqafs or
+     * hyphens, where the separator becomes a single space token and neither
+     * side looks past it. Everything before the last such cut in the buffer is
+     * transliterated and written out, so only the unfinished words are held.
+     *
+     * A text that gives no cut for MAX_STREAM_BUFFER_SIZE chars, such as one
+     * long run of digits or of words joined by newlines alone, is cut anyway
+     * at the last letter or between the last two plain chars in the buffer.
+     * Rules looking across that point see a word boundary there, which is the
+     * only way the result can differ from transliterating the whole text.
+     */
+    public void transliterate(Reader in, Writer out) throws IOException {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.requireNonNull(out, "Output cannot be null");
+
+        Metrics metrics = Metrics.current();
+        Object event = FlightRecorderHooks.beginTransliteration();
+        long start = metrics != Metrics.NOOP ? System.nanoTime() : 0;
+        long chars = 0;
+        int tokens = 0;
+
+        char[] buffer = new char[STREAM_BUFFER_SIZE];
+        CharBuffer text = CharBuffer.wrap(buffer);
+        int length = 0;
+        int scanned = 0;
+        boolean first = true;
+
+        StringBuilder builder = new StringBuilder(STREAM_BUFFER_SIZE);
+        CyrillicRewriter.Session session = CyrillicRewriter.INSTANCE.newSession(builder);
+
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            chars += read;
+
+            int cut = findCut(text, scanned, length);
+            if (cut >= 0) {
+                tokens += transliterate(text, 0, separatorStart(text, 0, cut), !first, false, session);
+                session.append(Symbols.space);
+            } else if (length < buffer.length) {
+                scanned = length;
+                continue;
+            } else if (buffer.length < MAX_STREAM_BUFFER_SIZE) {
+                scanned = length;
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                text = CharBuffer.wrap(buffer);
+                continue;
+            } else {
+                cut = findForcedCut(text, length);
+                tokens += transliterate(text, 0, cut, !first, false, session);
+            }
+            first = false;
+
+            System.arraycopy(buffer, cut, buffer, 0, length - cut);
+            length -= cut;
+            scanned = length;
+
+            out.append(builder);
+            builder.setLength(0);
+        }
+
+        tokens += transliterate(text, 0, length, !first, true, session);
+        session.finish();
+        out.append(builder);
+
+        if (event != null)
+            FlightRecorderHooks.commitTransliteration(event, (int) Math.min(chars, Integer.MAX_VALUE), tokens, false,
+                    true);
+
+        if (metrics != Metrics.NOOP)
+            metrics.transliterated((int) Math.min(chars, Integer.MAX_VALUE), tokens, System.nanoTime() - start);
+    }
+
+    public List<String> transliterateAll(List<String> in) {
+        Objects.requireNonNull(in, "Sources cannot be null");
+
+        return Arrays.asList(transliterateAll(in.toArray(new String[0])));
+    }
+
+    /*
+     * Sources are split in halves until a slice is small enough, and each
+     * slice is then transliterated sequentially into one reused builder, so
+     * even batches of short words are not dominated by task overhead.
+     */
+    public String[] transliterateAll(String[] in) {
+        Objects.requireNonNull(in, "Sources cannot be null");
+        for (String source : in)
+            Objects.requireNonNull(source, "Source cannot be null");
+
+        String[] results = new String[in.length];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int slice = Math.max(MIN_BATCH_SLICE, in.length / (pool.getParallelism() * SLICES_PER_THREAD));
+
+        if (in.length <= slice)
+            transliterateAll(in, results, 0, in.length);
+        else
+            pool.invoke(new BatchTask(this, in, results, 0, in.length, slice));
+
+        return results;
+    }
+
+    private void transliterateAll(String[] in, String[] results, int from, int to) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            builder.setLength(0);
+            transliterate(in[i], 0, in[i].length(), builder);
+            results[i] = builder.toString();
+        }
+    }
+
+    /*
+     * Words are cut off the same way the stream is cut and joined with the
+     * single space their separator becomes. No rewrite rule spans a space, so
+     * each cached result is already rewritten.
+     */
+    private int transliterateWords(CharSequence in, int from, int to, StringBuilder out) {
+        int tokens = 0;
+        int start = from;
+        for (int i = from + 1; i < to; i++) {
+            int wordEnd = separatorStart(in, start, i);
+            if (wordEnd < 0)
+                continue;
+
+            tokens += appendWord(in, start, wordEnd, start == from, false, out);
+            out.append(Symbols.space);
+            start = i;
+        }
+
+        return tokens + appendWord(in, start, to, start == from, true, out);
+    }
+
+    /*
+     * Returns the number of tokens made, none for a cached word. A text that
+     * gives no cut, such as lines joined without spaces, can make one very
+     * long segment, so those are never cached and the entries stay word-sized.
+     */
+    private int appendWord(CharSequence in, int from, int to, boolean first, boolean last, StringBuilder out) {
+        if (to - from > CyrillizerCache.MAX_WORD_LENGTH)
+            return transliterateWord(in, from, to, first, last, out);
+
+        String word = in.subSequence(from, to).toString();
+
+        String result = cache.get(word, first, last);
+        int tokens = 0;
+        if (result == null) {
+            StringBuilder builder = new StringBuilder(word.length());
+            tokens = transliterateWord(word, 0, word.length(), first, last, builder);
+            result = builder.toString();
+            cache.put(word, first, last, result);
+        }
+
+        out.append(result);
+        return tokens;
+    }
+
+    static String transliterateWord(String word, boolean first, boolean last) {
+        StringBuilder builder = new StringBuilder(word.length());
+        transliterateWord(word, 0, word.length(), first, last, builder);
+
+        return builder.toString();
+    }
+
+    private static int transliterateWord(CharSequence in, int from, int to, boolean first, boolean last,
+            StringBuilder out) {
+        CyrillicRewriter.Session session = CyrillicRewriter.INSTANCE.newSession(out);
+        int tokens = transliterate(in, from, to, !first, last, session);
+        session.finish();
+
+        return tokens;
+    }
+
+    void appendTokens(CharSequence in, StringBuilder out) {
+        ArrayList<Token> tokensList = tokenize(in, 0, in.length());
+        StringBuilder cyrillization = new StringBuilder();
+        for (Token token : tokensList)
+            token.appendCyrillization(cyrillization);
+
+        for (Token token : tokensList) {
+            out.append("[");
+            out.append("(");
+            out.append(token.root);
+            out.append(")");
+            for (char nikkud : token.getSortedNikkudim()) {
+                out.append("<");
+                out.append(nikkud);
+                out.append(">");
+            }
+            out.append("]");
+        }
+    }
+
+    private static int transliterate(CharSequence in, int from, int to, boolean precededBySpace, boolean last,
+            CyrillicRewriter.Session session) {
+        return transliterate(new CyrillizerTokenizer(in, from, to, last), to - from, precededBySpace, session);
+    }
+
+    // For CyrillizerUtf8Engine, whose words are decoded from the bytes by the tokenizer itself
+    static int transliterate(ByteBuffer in, int from, int to, boolean precededBySpace, boolean last,
+            CyrillicRewriter.Session session) {
+        return transliterate(new CyrillizerTokenizer(in, from, to, last), to - from, precededBySpace, session);
+    }
+
+    private static int transliterate(CyrillizerTokenizer tokenizer, int length, boolean precededBySpace,
+            CyrillicRewriter.Session session) {
+        ArrayList<Token> tokensList = tokenize(tokenizer);
+        if (precededBySpace && !tokensList.isEmpty())
+            tokensList.get(0).previousToken = new Token(String.valueOf(Symbols.space), CyrillizerTokenizer.SPACE);
+
+        StringBuilder cyrillization = new StringBuilder(length);
+        for (Token token : tokensList)
+            token.appendCyrillization(cyrillization);
+
+        session.append(cyrillization, 0, cyrillization.length());
+        return tokensList.size();
+    }
+
+    private static int findCut(CharSequence text, int from, int to) {
+        for (int i = to - 1; i >= from; i--)
+            if (separatorStart(text, 0, i) >= 0)
+                return i;
+
+        return -1;
+    }
+
+    // Past the whole buffer the next letter or the middle of a plain run is the least harm
+    private static int findForcedCut(CharSequence text, int length) {
+        for (int i = length - 1; i > 0; i--)
+            if (Symbols.Hebrew.isHebrewLetter(text.charAt(i)) || isPlain(text.charAt(i - 1)) && isPlain(text.charAt(i)))
+                return i;
+
+        return length;
+    }
+
+    /*
+     * Returns where the separator before the word at index starts if the text
+     * can be cut there, or -1 otherwise. The separator has to be a run of
+     * spaces, maqafs or hyphens, so that it always becomes a single space
+     * token. It has to end a Hebrew letter with its diacritics, or a plain
+     * char, and be followed by either of them, so that no other token takes
+     * it in and no context rule reads past it: the rules only ask whether a
+     * neighbour is a Hebrew token, and a space token is not.
+     */
+    static int separatorStart(CharSequence text, int from, int index) {
+        if (index <= from || !isSeparator(text.charAt(index - 1)))
+            return -1;
+
+        char next = text.charAt(index);
+        if (!Symbols.Hebrew.isHebrewLetter(next) && !isPlain(next))
+            return -1;
+
+        int start = index - 1;
+        while (start > from && isSeparator(text.charAt(start - 1)))
+            start--;
+        if (start > from && isPlain(text.charAt(start - 1)))
+            return start;
+
+        int owner = start;
+        while (owner > from && isDiacritic(text.charAt(owner - 1)))
+            owner--;
+
+        return owner > from && Symbols.Hebrew.isHebrewLetter(text.charAt(owner - 1)) ? start : -1;
+    }
+
+    static boolean isSeparator(char ch) {
+        return ch == Symbols.space || ch == Symbols.Hebrew.maqaf || ch == Symbols.hyphen;
+    }
+
+    // Latin, punctuation, digits and the like: no token but digits, and nothing attaches to them
+    static boolean isPlain(char ch) {
+        return ch > Symbols.space && (HebrewCharClass.of(ch) & ~HebrewCharClass.DIGIT) == 0;
+    }
+
+    static boolean isDiacritic(char ch) {
+        return Symbols.Hebrew.isHebrewDiacritics(ch) || ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe;
+    }
+
+    private static ArrayList<Token> tokenize(CharSequence in, int from, int to) {
+        return tokenize(new CyrillizerTokenizer(in, from, to));
+    }
+
+    private static ArrayList<Token> tokenize(CyrillizerTokenizer tokenizer) {
+        ArrayList<Token> tokensList = new ArrayList<>(tokenizer.size());
+        for (int i = 0; i < tokenizer.size(); i++)
+            tokensList.add(new Token(tokenizer.getToken(i), tokenizer.getKind(i)));
+
+        for (int i = 0; i < tokensList.size(); i++) {
+            if (i > 0)
+                tokensList.get(i).previousToken = tokensList.get(i - 1);
+            if (i < tokensList.size() - 1)
+                tokensList.get(i).nextToken = tokensList.get(i + 1);
+        }
+
+        return tokensList;
+    }
+    
+    @SuppressWarnings("serial")
+    private static final class BatchTask extends RecursiveAction {
+        private final CyrillizerEngine engine;
+        private final String[] in;
+        private final String[] results;
+        private final int from;
+        private final int to;
+        private final int slice;
+
+        private BatchTask(CyrillizerEngine engine, String[] in, String[] results, int from, int to, int slice) {
+            this.engine = engine;
+            this.in = in;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= slice) {
+                engine.transliterateAll(in, results, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(engine, in, results, from, middle, slice),
+                    new BatchTask(engine, in, results, middle, to, slice));
+        }
+    }
+
+    private static final class Token {
+        private static final long O_NIKKUDIM = NikkudSet.of(Symbols.Hebrew.holam, Symbols.Hebrew.qamats_katan,
+                Symbols.Hebrew.hataf_qamats, Symbols.Hebrew.qubuts);
+        private static final long UPPER_DOTS = NikkudSet.of(Symbols.Hebrew.upper_dot_1, Symbols.Hebrew.upper_dot_2);
+        private static final long A_NIKKUDIM = NikkudSet.of(Symbols.Hebrew.qamats, Symbols.Hebrew.hataf_patah,
+                Symbols.Hebrew.patah);
+        private static final long E_NIKKUDIM = NikkudSet.of(Symbols.Hebrew.segol, Symbols.Hebrew.hataf_segol);
+        private static final long GERESHS = NikkudSet.of(Symbols.Hebrew.geresh, Symbols.apostrophe);
+        private static final long SIN_DOTS = NikkudSet.of(Symbols.Hebrew.sin_dot, Symbols.Hebrew.upper_dot_1,
+                Symbols.Hebrew.upper_dot_2);
+        private static final long VAV_DOTS = NikkudSet.of(Symbols.Hebrew.upper_dot_1, Symbols.Hebrew.upper_dot_2,
+                Symbols.Hebrew.dagesh);
+        private static final long OPEN_SYLLABLE_NIKKUDIM = NikkudSet.of(Symbols.Hebrew.qamats, Symbols.Hebrew.hataf_patah,
+                Symbols.Hebrew.patah, Symbols.Hebrew.segol);
+        private static final long YUD_PRECEDING_NIKKUDIM = NikkudSet.of(Symbols.Hebrew.holam, Symbols.Hebrew.qamats,
+                Symbols.Hebrew.segol, Symbols.Hebrew.qamats_katan, Symbols.Hebrew.sheva, Symbols.Hebrew.hataf_segol,
+                Symbols.Hebrew.hataf_patah, Symbols.Hebrew.hataf_qamats, Symbols.Hebrew.tsere, Symbols.Hebrew.patah,
+                Symbols.Hebrew.qubuts);
+
+        private static final char FIRST_LETTER = 'א';
+        private static final String[] LETTERS = new String['ײ' - FIRST_LETTER + 1];
+        static {
+            for (int i = 0; i < LETTERS.length; i++)
+                LETTERS[i] = String.valueOf((char) (FIRST_LETTER + i));
+        }
+
+    	private Token previousToken;
+    	private Token nextToken;
+
+    	private String root;
+    	private String fullToken;
+    	private byte kind;
+
+    	private long nikkudim = NikkudSet.EMPTY;
+
+    	private boolean isHebrewToken;
+
+    	private Token (String token, byte kind) {
+            fullToken = token;
+            this.kind = kind;
+
+            char firstChar = token.charAt(0);
+            if (Symbols.Hebrew.isHebrewLetter(firstChar)) {
+                isHebrewToken = true;
+                nikkudim = NikkudSet.of(token);
+                if (kind == CyrillizerTokenizer.YUD_YUD)
+                    root = Symbols.Hebrew.yud_yud;
+                else if (kind == CyrillizerTokenizer.VAV_VAV)
+                    root = Symbols.Hebrew.vav_vav;
+                else if (kind == CyrillizerTokenizer.YUD_VAV)
+                    root = Symbols.Hebrew.yud_vav;
+                else
+                    root = LETTERS[firstChar - FIRST_LETTER];
+            } else {
+                isHebrewToken = false;
+                root = fullToken;
+            }
+        }
+
+        // Marks as the former sorted list held them, duplicates and all
+        private char[] getSortedNikkudim() {
+            if (!isHebrewToken)
+                return new char[0];
+
+            StringBuilder builder = new StringBuilder();
+            for (char ch : fullToken.toCharArray())
+                if (!Symbols.Hebrew.isHebrewLetter(ch) && NikkudSet.contains(nikkudim, ch))
+                    builder.append(ch);
+
+            char[] sorted = builder.toString().toCharArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    	
+    
+        private String getVowels(boolean dageshAsVowel, boolean uppersDotsAsVowels) {
+            if (NikkudSet.contains(nikkudim, Symbols.Hebrew.hiriq)) 
+            	return Symbols.Cyrillic.i;
+            
+        	if (NikkudSet.contains(nikkudim, Symbols.Hebrew.tsere) || 
+            		NikkudSet.contains(nikkudim, Symbols.Hebrew.sheva) && 
+            			(previousToken == null || 
+            				!previousToken.isHebrewToken || 
+            				NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.sheva) || 
+            				nextToken != null && (nextToken.root.equals(root) || nextToken.root.equals(Symbols.Hebrew.yud) && nextToken.nikkudim != NikkudSet.EMPTY))) {
+            	return Symbols.Cyrillic.e;
+            }
+            
+            if (NikkudSet.containsAny(nikkudim, O_NIKKUDIM)
+                    || NikkudSet.containsAny(nikkudim, UPPER_DOTS) && uppersDotsAsVowels) 
+            	return Symbols.Cyrillic.o;
+            
+            if (NikkudSet.containsAny(nikkudim, A_NIKKUDIM)) 
+            	return Symbols.Cyrillic.a;
+            
+            if (NikkudSet.containsAny(nikkudim, E_NIKKUDIM)) 
+            	return Symbols.Cyrillic.e;
+            
+            if (NikkudSet.contains(nikkudim, Symbols.Hebrew.dagesh) && dageshAsVowel) 
+            	return Symbols.Cyrillic.u;
+            
+            return "";
+        }
+        
+        /*
+         * Pairs are told apart by their token kind and single letters by a
+         * switch over the letter, which compiles to a jump table over the
+         * Hebrew block instead of a chain of comparisons.
+         */
+        private void appendCyrillization(StringBuilder out) {
+            if (!isHebrewToken) {
+                out.append(root);
+                return;
+            }
+
+            switch (kind) {
+                case CyrillizerTokenizer.VAV_VAV:
+                    out.append(Symbols.Cyrillic.v).append(getVowels(true, true));
+                    return;
+                case CyrillizerTokenizer.YUD_YUD:
+                    appendYudYud(out);
+                    return;
+                case CyrillizerTokenizer.YUD_VAV:
+                    appendYudVav(out);
+                    return;
+                default:
+                    break;
+            }
+
+            switch (root.charAt(0)) {
+                case 'א':
+                case 'ע':
+                    out.append(getVowels(true, true));
+                    break;
+                case 'ב':
+                    out.append(NikkudSet.contains(nikkudim, Symbols.Hebrew.dagesh) ? Symbols.Cyrillic.b : Symbols.Cyrillic.v)
+                            .append(getVowels(false, true));
+                    break;
+                case 'ג':
+                    if (NikkudSet.containsAny(nikkudim, GERESHS))
+                        out.append(Symbols.Cyrillic.d).append(Symbols.Cyrillic.zh);
+                    else
+                        out.append(Symbols.Cyrillic.g);
+                    out.append(getVowels(true, true));
+                    break;
+                case 'ד':
+                    out.append(Symbols.Cyrillic.d).append(getVowels(true, true));
+                    break;
+                case 'ה':
+                    appendHay(out);
+                    break;
+                case 'ו':
+                    appendVav(out);
+                    break;
+                case 'ז':
+                    out.append(NikkudSet.containsAny(nikkudim, GERESHS) ? Symbols.Cyrillic.zh : Symbols.Cyrillic.z)
+                            .append(getVowels(true, true));
+                    break;
+                case 'ח':
+                    if (nextToken == null || !nextToken.isHebrewToken)
+                        out.append(getVowels(true, true)).append(Symbols.Cyrillic.kh);
+                    else
+                        out.append(Symbols.Cyrillic.kh).append(getVowels(true, true));
+                    break;
+                case 'ט':
+                    out.append(Symbols.Cyrillic.t).append(getVowels(true, true));
+                    break;
+                case 'י':
+                    appendYud(out);
+                    break;
+                case 'ך':
+                case 'כ':
+                    out.append(NikkudSet.contains(nikkudim, Symbols.Hebrew.dagesh) ? Symbols.Cyrillic.k : Symbols.Cyrillic.kh)
+                            .append(getVowels(false, true));
+                    break;
+                case 'ל': {
+                    String vowels = getVowels(true, true);
+                    if (vowels.equals("") && (nextToken == null || !nextToken.isHebrewToken))
+                        out.append(Symbols.Cyrillic.l).append(Symbols.Cyrillic.soft);
+                    else
+                        out.append(Symbols.Cyrillic.l).append(vowels);
+                    break;
+                }
+                case 'ם':
+                case 'מ':
+                    out.append(Symbols.Cyrillic.m).append(getVowels(true, true));
+                    break;
+                case 'ן':
+                case 'נ':
+                    out.append(Symbols.Cyrillic.n).append(getVowels(true, true));
+                    break;
+                case 'ס':
+                    out.append(Symbols.Cyrillic.s).append(getVowels(true, true));
+                    break;
+                case 'ף':
+                case 'פ':
+                    out.append(NikkudSet.contains(nikkudim, Symbols.Hebrew.dagesh) ? Symbols.Cyrillic.p : Symbols.Cyrillic.f)
+                            .append(getVowels(false, true));
+                    break;
+                case 'ץ':
+                case 'צ':
+                    out.append(NikkudSet.containsAny(nikkudim, GERESHS) ? Symbols.Cyrillic.ch : Symbols.Cyrillic.ts)
+                            .append(getVowels(true, true));
+                    break;
+                case 'ק':
+                    out.append(Symbols.Cyrillic.k).append(getVowels(true, true));
+                    break;
+                case 'ר':
+                    out.append(Symbols.Cyrillic.r).append(getVowels(true, true));
+                    break;
+                case 'ש':
+                    out.append(NikkudSet.containsAny(nikkudim, SIN_DOTS) ? Symbols.Cyrillic.s : Symbols.Cyrillic.sh)
+                            .append(getVowels(true, false));
+                    break;
+                case 'ת':
+                    out.append(Symbols.Cyrillic.t).append(getVowels(false, true));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void appendVav(StringBuilder out) {
+            if (previousToken == null || !previousToken.isHebrewToken) {
+                out.append(Symbols.Cyrillic.v).append(getVowels(true, true));
+                return;
+            }
+
+            String cyrillicVowels = getVowels(true, true);
+            if (!cyrillicVowels.contains(Symbols.Cyrillic.o)
+                    && !cyrillicVowels.contains(Symbols.Cyrillic.u)) {
+                out.append(Symbols.Cyrillic.v).append(cyrillicVowels);
+            } else if (cyrillicVowels.contains(Symbols.Cyrillic.u)
+                    && !previousToken.root.equals(Symbols.Hebrew.bet)
+                    && !previousToken.root.equals(Symbols.Hebrew.kaf)
+                    && !previousToken.root.equals(Symbols.Hebrew.pey)
+                    && !previousToken.root.equals(Symbols.Hebrew.tet)
+                    && NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.dagesh)) {
+                return;
+            } else {
+                out.append(cyrillicVowels);
+            }
+        }
+
+        private void appendHay(StringBuilder out) {
+            if (nextToken != null && nextToken.isHebrewToken) {
+                out.append(Symbols.Cyrillic.h).append(getVowels(false, true));
+                return;
+            }
+
+            if (nikkudim == NikkudSet.EMPTY
+                    && previousToken != null
+                    && !NikkudSet.containsAny(previousToken.nikkudim, OPEN_SYLLABLE_NIKKUDIM))
+                out.append(Symbols.Cyrillic.a);
+            else
+                out.append(getVowels(false, true));
+        }
+
+        private void appendYud(StringBuilder out) {
+            if (previousToken != null && previousToken.isHebrewToken)
+                nikkudim &= ~NikkudSet.of(Symbols.Hebrew.hiriq);
+
+            if ((nextToken == null || !nextToken.isHebrewToken) && previousToken != null
+                    && !NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.hiriq)) {
+                out.append(Symbols.Cyrillic.i);
+                return;
+            }
+
+            if (previousToken == null || !previousToken.isHebrewToken
+                    || previousToken.root.equals(Symbols.Hebrew.yud) && !NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.hiriq)
+                    || (NikkudSet.containsAny(previousToken.nikkudim, YUD_PRECEDING_NIKKUDIM)
+                            || NikkudSet.containsAny(previousToken.nikkudim, VAV_DOTS) && previousToken.root.contains(Symbols.Hebrew.vav))
+                    && (nikkudim != NikkudSet.EMPTY || nextToken != null && (nextToken.root.equals(Symbols.Hebrew.alef)
+                            || nextToken.root.equals(Symbols.Hebrew.ain)
+                            || nextToken.root.equals(Symbols.Hebrew.vav) && nextToken.nikkudim == NikkudSet.EMPTY))) {
+                out.append(Symbols.Cyrillic.i_short).append(getVowels(false, true));
+                return;
+            }
+
+            if (previousToken != null && !NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.hiriq))
+                out.append(Symbols.Cyrillic.i);
+            out.append(getVowels(false, true));
+        }
+
+        private void appendYudYud(StringBuilder out) {
+            if (nextToken == null || !nextToken.isHebrewToken) {
+                out.append(Symbols.Cyrillic.i);
+                return;
+            }
+
+            if (previousToken == null || !previousToken.isHebrewToken
+                    || NikkudSet.containsAny(previousToken.nikkudim, YUD_PRECEDING_NIKKUDIM)
+                    || NikkudSet.containsAny(previousToken.nikkudim, VAV_DOTS) && previousToken.root.contains(Symbols.Hebrew.vav)
+                    || NikkudSet.contains(previousToken.nikkudim, Symbols.Hebrew.hiriq))
+                out.append(Symbols.Cyrillic.i_short).append(getVowels(false, true));
+            else
+                out.append(Symbols.Cyrillic.a).append(Symbols.Cyrillic.i);
+        }
+
+        private void appendYudVav(StringBuilder out) {
+            if (previousToken == null || !previousToken.getVowels(false, false).contains(Symbols.Cyrillic.a))
+                out.append(Symbols.Cyrillic.a);
+            out.append(Symbols.Cyrillic.v).append(getVowels(true, true));
+        }
+    }
+}
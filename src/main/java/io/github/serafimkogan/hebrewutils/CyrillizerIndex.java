@@ -0,0 +1,237 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+
+/*
+ * Transliterations of a word list precomputed into a file that is read through a memory mapping.
+ *
+ * The file is a header of magic, version and word count, followed by two tables of record offsets: one
+ * ordered by the UTF-8 bytes of the words, and one ordered by their skeletons, the words without
+ * diacritics. A word record holds the word and its transliteration, and a skeleton record holds the
+ * skeleton and the index of its word record. Every length and offset is a big-endian int.
+ */
+public final class CyrillizerIndex {
+    private static final int MAGIC = 0x48554349;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final Comparator<byte[]> UTF_8_ORDER = Arrays::compareUnsigned;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final CyrillizerEngine engine;
+
+    private CyrillizerIndex(ByteBuffer buffer, CyrillizerEngine engine) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a transliteration index");
+        if (buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported transliteration index version " + buffer.getInt(4));
+
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.engine = engine;
+        checkTables();
+    }
+
+    /*
+     * The records follow the tables in the order of their offsets, and the last skeleton record ends the file,
+     * so a truncated or mangled file is told on opening rather than in the middle of a lookup. Only the tables
+     * and the last record are read, not every record.
+     */
+    private void checkTables() throws IOException {
+        long recordsStart = HEADER_SIZE + 8L * size;
+        if (size < 0 || recordsStart > buffer.capacity())
+            throw new IOException("Transliteration index is truncated: " + size + " words declared");
+
+        long previous = recordsStart - 1;
+        for (int i = 0; i < 2 * size; i++) {
+            int offset = buffer.getInt(HEADER_SIZE + 4 * i);
+            if (offset <= previous || offset > buffer.capacity() - 8L)
+                throw new IOException("Transliteration index has a record offset out of order or bounds: " + offset);
+            previous = offset;
+        }
+
+        long end = recordsStart;
+        if (size > 0) {
+            int last = buffer.getInt(HEADER_SIZE + 4 * (2 * size - 1));
+            end = last + 8L + buffer.getInt(last);
+        }
+        if (end != buffer.capacity())
+            throw new IOException("Transliteration index is truncated or has trailing bytes");
+    }
+
+    public static void build(Collection<String> words, Path file) throws IOException {
+        Objects.requireNonNull(words, "Words cannot be null");
+        Objects.requireNonNull(file, "File cannot be null");
+
+        TreeSet<byte[]> distinct = new TreeSet<>(UTF_8_ORDER);
+        for (String word : words)
+            distinct.add(Objects.requireNonNull(word, "Word cannot be null").getBytes(StandardCharsets.UTF_8));
+
+        byte[][] keys = distinct.toArray(new byte[0][]);
+        String[] sources = new String[keys.length];
+        for (int i = 0; i < keys.length; i++)
+            sources[i] = new String(keys[i], StandardCharsets.UTF_8);
+
+        String[] results = new CyrillizerEngine().transliterateAll(sources);
+        byte[][] values = new byte[keys.length][];
+        byte[][] skeletons = new byte[keys.length][];
+        Integer[] bySkeleton = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = results[i].getBytes(StandardCharsets.UTF_8);
+            skeletons[i] = Symbols.Hebrew.removeDiacritics(sources[i]).getBytes(StandardCharsets.UTF_8);
+            bySkeleton[i] = i;
+        }
+        Arrays.sort(bySkeleton, (a, b) -> UTF_8_ORDER.compare(skeletons[a], skeletons[b]));
+
+        long offset = HEADER_SIZE + 8L * keys.length;
+        int[] wordOffsets = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            wordOffsets[i] = checkOffset(offset);
+            offset += 8L + keys[i].length + values[i].length;
+        }
+        int[] skeletonOffsets = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            skeletonOffsets[i] = checkOffset(offset);
+            offset += 8L + skeletons[bySkeleton[i]].length;
+        }
+        checkOffset(offset);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(keys.length);
+            for (int wordOffset : wordOffsets)
+                out.writeInt(wordOffset);
+            for (int skeletonOffset : skeletonOffsets)
+                out.writeInt(skeletonOffset);
+
+            for (int i = 0; i < keys.length; i++) {
+                out.writeInt(keys[i].length);
+                out.write(keys[i]);
+                out.writeInt(values[i].length);
+                out.write(values[i]);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                int word = bySkeleton[i];
+                out.writeInt(skeletons[word].length);
+                out.write(skeletons[word]);
+                out.writeInt(word);
+            }
+        }
+    }
+
+    public static CyrillizerIndex open(Path file) throws IOException {
+        return open(file, new CyrillizerEngine());
+    }
+
+    /*
+     * The engine transliterates the words missing from the file. The mapping stays valid after the
+     * channel is closed and is released together with the index.
+     */
+    public static CyrillizerIndex open(Path file, CyrillizerEngine engine) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(engine, "Engine cannot be null");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CyrillizerIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), engine);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String lookup(String vocalizedWord) {
+        Objects.requireNonNull(vocalizedWord, "Word cannot be null");
+
+        byte[] key = vocalizedWord.getBytes(StandardCharsets.UTF_8);
+        int index = lowerBound(HEADER_SIZE, key);
+        if (index < size && compare(wordOffset(index), key) == 0)
+            return value(wordOffset(index));
+
+        return engine.transliterate(vocalizedWord);
+    }
+
+    /*
+     * Transliterations of all the words with the given skeleton, in the order of the words, or none if the
+     * skeleton is not in the file. Unlike lookup, nothing is transliterated live here: the letters alone do not
+     * tell how a word is read.
+     */
+    public List<String> lookupBySkeleton(String unvocalized) {
+        Objects.requireNonNull(unvocalized, "Skeleton cannot be null");
+
+        byte[] key = unvocalized.getBytes(StandardCharsets.UTF_8);
+        int skeletonTable = HEADER_SIZE + 4 * size;
+        List<String> results = new ArrayList<>();
+        for (int i = lowerBound(skeletonTable, key); i < size; i++) {
+            int offset = buffer.getInt(skeletonTable + 4 * i);
+            if (compare(offset, key) != 0)
+                break;
+            results.add(value(wordOffset(buffer.getInt(offset + 4 + buffer.getInt(offset)))));
+        }
+
+        return results;
+    }
+
+    private int wordOffset(int index) {
+        return buffer.getInt(HEADER_SIZE + 4 * index);
+    }
+
+    private int lowerBound(int table, byte[] key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(buffer.getInt(table + 4 * middle), key) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return low;
+    }
+
+    // Compares the key of the record at the offset with the given key byte by byte, as unsigned bytes
+    private int compare(int offset, byte[] key) {
+        int length = buffer.getInt(offset);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(offset + 4 + i) & 0xff) - (key[i] & 0xff);
+            if (difference != 0)
+                return difference;
+        }
+
+        return length - key.length;
+    }
+
+    private String value(int offset) {
+        int valueOffset = offset + 4 + buffer.getInt(offset);
+        byte[] value = new byte[buffer.getInt(valueOffset)];
+        buffer.get(valueOffset + 4, value);
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int checkOffset(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE)
+            throw new IOException("Transliteration index cannot exceed 2 GB");
+
+        return (int) offset;
+    }
+}
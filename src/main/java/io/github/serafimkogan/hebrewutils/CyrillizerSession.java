@@ -0,0 +1,303 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/*
+ * Transliteration of a text that is edited in place, as in an editor showing the Cyrillic under the Hebrew.
+ *
+ * The text is kept cut into segments the way CyrillizerEngine cuts a stream: between two words separated
+ * by spaces, maqafs or hyphens, where the separator becomes a single space and no rule looks past it.
+ * Whether the text can be cut before a word depends only on the start of that word, the separator and the
+ * end of the word before, so an edit changes the segments it touches and at most one neighbour on each side.
+ *
+ * Each segment keeps its own text and transliteration in a treap ordered by position, whose nodes sum up
+ * the lengths below them. An edit splits off the segments it changes, cuts and transliterates them again
+ * and merges the new ones back, so it costs the size of those segments plus the logarithm of their count,
+ * however long the text is. Only getText and getOutput put the whole text together.
+ */
+public final class CyrillizerSession {
+    private Node root;
+    private int seed = 0x2545f491;
+
+    public CyrillizerSession() {
+        this("");
+    }
+
+    public CyrillizerSession(CharSequence text) {
+        Objects.requireNonNull(text, "Text cannot be null");
+
+        String source = text.toString();
+        for (Node node : segment(source, source.length(), true, true))
+            root = merge(root, node);
+    }
+
+    public String getText() {
+        StringBuilder builder = new StringBuilder(length(root));
+        appendText(root, builder);
+        return builder.toString();
+    }
+
+    public String getOutput() {
+        StringBuilder builder = new StringBuilder(outputLength(root) + count(root));
+        appendOutput(root, builder);
+        return builder.toString();
+    }
+
+    /*
+     * Replaces removedLength characters of the text at offset with the inserted ones and returns the part
+     * of the output that changed with it.
+     */
+    public Change edit(int offset, int removedLength, CharSequence inserted) {
+        Objects.requireNonNull(inserted, "Inserted text cannot be null");
+        Objects.checkFromIndexSize(offset, removedLength, length(root));
+
+        int count = count(root);
+        int first = Math.max(0, segmentAt(offset) - 1);
+        int last = Math.min(count - 1, segmentAt(offset + removedLength) + 1);
+
+        Node[] parts = split(root, first);
+        Node before = parts[0];
+        parts = split(parts[1], last - first + 1);
+        Node region = parts[0];
+        Node after = parts[1];
+
+        // The first letter of the segment after the region, which tells where the region's last word ends
+        StringBuilder text = new StringBuilder(length(region) + inserted.length() + 1);
+        appendText(region, text);
+        int regionOffset = offset - length(before);
+        text.replace(regionOffset, regionOffset + removedLength, inserted.toString());
+        int regionLength = text.length();
+        if (after != null)
+            text.append(first(after).text.charAt(0));
+
+        StringBuilder oldOutput = new StringBuilder(outputLength(region) + count(region));
+        appendOutput(region, oldOutput);
+
+        Node replacement = null;
+        for (Node node : segment(text.toString(), regionLength, before == null, after == null))
+            replacement = merge(replacement, node);
+        StringBuilder newOutput = new StringBuilder(outputLength(replacement) + count(replacement));
+        appendOutput(replacement, newOutput);
+
+        int outputStart = before == null ? 0 : outputLength(before) + count(before);
+        root = merge(merge(before, replacement), after);
+
+        return Change.between(outputStart, oldOutput.toString(), newOutput.toString());
+    }
+
+    /*
+     * Cuts the text of a region that starts at a segment start and ends either at the end of the text or
+     * at the start of a segment after the edit, which stays a cut, and transliterates the words found. A
+     * region that is not the last one is followed by the first letter after it.
+     */
+    private List<Node> segment(String text, int length, boolean first, boolean last) {
+        List<Node> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = start + 1; i < length; i++) {
+            int wordEnd = CyrillizerEngine.separatorStart(text, start, i);
+            if (wordEnd < 0)
+                continue;
+
+            segments.add(newNode(text, start, i, wordEnd, first && start == 0, false));
+            start = i;
+        }
+
+        int wordEnd = last ? length : CyrillizerEngine.separatorStart(text, start, length);
+        segments.add(newNode(text, start, length, wordEnd, first && start == 0, last));
+
+        return segments;
+    }
+
+    private Node newNode(String text, int start, int end, int wordEnd, boolean first, boolean last) {
+        // Xorshift is enough to keep the treap balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+
+        String output = CyrillizerEngine.transliterateWord(text.substring(start, wordEnd), first, last);
+        return new Node(text.substring(start, end), output, seed);
+    }
+
+    // The last segment starting at or before the offset
+    private int segmentAt(int offset) {
+        int index = 0;
+        Node node = root;
+        while (true) {
+            int leftLength = length(node.left);
+            if (offset < leftLength) {
+                node = node.left;
+                continue;
+            }
+
+            offset -= leftLength;
+            index += count(node.left);
+            if (offset < node.text.length() || node.right == null)
+                return index;
+
+            offset -= node.text.length();
+            index++;
+            node = node.right;
+        }
+    }
+
+    private static Node first(Node node) {
+        while (node.left != null)
+            node = node.left;
+
+        return node;
+    }
+
+    // The first count segments and the rest
+    private static Node[] split(Node node, int count) {
+        if (node == null)
+            return new Node[2];
+
+        if (count(node.left) >= count) {
+            Node[] parts = split(node.left, count);
+            node.left = parts[1];
+            node.update();
+            parts[1] = node;
+            return parts;
+        }
+
+        Node[] parts = split(node.right, count - count(node.left) - 1);
+        node.right = parts[0];
+        node.update();
+        parts[0] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static void appendText(Node node, StringBuilder out) {
+        if (node == null)
+            return;
+
+        appendText(node.left, out);
+        out.append(node.text);
+        appendText(node.right, out);
+    }
+
+    private static void appendOutput(Node node, StringBuilder out) {
+        appendOutput(node, out, true);
+    }
+
+    // The transliterations of the segments are separated by single spaces
+    private static boolean appendOutput(Node node, StringBuilder out, boolean first) {
+        if (node == null)
+            return first;
+
+        first = appendOutput(node.left, out, first);
+        if (!first)
+            out.append(Symbols.space);
+        out.append(node.output);
+        return appendOutput(node.right, out, false);
+    }
+
+    private static int count(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private static int length(Node node) {
+        return node == null ? 0 : node.length;
+    }
+
+    private static int outputLength(Node node) {
+        return node == null ? 0 : node.outputLength;
+    }
+
+    private static final class Node {
+        private final String text;
+        private final String output;
+        private final int priority;
+        private Node left;
+        private Node right;
+
+        // Of the subtree
+        private int count;
+        private int length;
+        private int outputLength;
+
+        private Node(String text, String output, int priority) {
+            this.text = text;
+            this.output = output;
+            this.priority = priority;
+            update();
+        }
+
+        private void update() {
+            count = 1 + CyrillizerSession.count(left) + CyrillizerSession.count(right);
+            length = text.length() + CyrillizerSession.length(left) + CyrillizerSession.length(right);
+            outputLength = output.length() + CyrillizerSession.outputLength(left) + CyrillizerSession.outputLength(right);
+        }
+    }
+
+    /*
+     * The output from start to oldEnd became the replacement, so it now ends at getEnd. Unchanged
+     * transliterations at both ends of the segments done again are left out.
+     */
+    public static final class Change {
+        private final int start;
+        private final int oldEnd;
+        private final String replacement;
+
+        private Change(int start, int oldEnd, String replacement) {
+            this.start = start;
+            this.oldEnd = oldEnd;
+            this.replacement = replacement;
+        }
+
+        private static Change between(int offset, String before, String after) {
+            int prefix = 0;
+            int common = Math.min(before.length(), after.length());
+            while (prefix < common && before.charAt(prefix) == after.charAt(prefix))
+                prefix++;
+
+            int suffix = 0;
+            while (suffix < common - prefix
+                    && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix))
+                suffix++;
+
+            return new Change(offset + prefix, offset + before.length() - suffix,
+                    after.substring(prefix, after.length() - suffix));
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getOldEnd() {
+            return oldEnd;
+        }
+
+        public int getEnd() {
+            return start + replacement.length();
+        }
+
+        public String getReplacement() {
+            return replacement;
+        }
+
+        public boolean isEmpty() {
+            return start == oldEnd && replacement.isEmpty();
+        }
+    }
+}
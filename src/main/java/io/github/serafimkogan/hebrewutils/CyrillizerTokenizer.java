@@ -0,0 +1,245 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+
+final class CyrillizerTokenizer {
+    static final byte SPACE = 0;
+    static final byte FILLER = 1;
+    static final byte DOT = 2;
+    static final byte YUD_YUD = 3;
+    static final byte VAV_VAV = 4;
+    static final byte YUD_VAV = 5;
+    static final byte LETTER = 6;
+    static final byte DIGITS = 7;
+
+    private static final int TOKEN_START = HebrewCharClass.LETTER | HebrewCharClass.DIGIT | HebrewCharClass.BREAK;
+
+    private final char[] chars;
+    private final int begin;
+    private final int end;
+    private final boolean last;
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] kinds = new byte[16];
+    private int size;
+
+    CyrillizerTokenizer(CharSequence source, int from, int to) {
+        this(source, from, to, true);
+    }
+
+    /*
+     * A range that is not the last one of its text is expected to be followed
+     * by a space, which only matters to the word-final יו check below.
+     */
+    CyrillizerTokenizer(CharSequence source, int from, int to, boolean last) {
+        this(new char[to - from], source, from, to, last);
+    }
+
+    // UTF-8 bytes are decoded straight into the working copy, which is then normalized in place
+    CyrillizerTokenizer(ByteBuffer source, int from, int to, boolean last) {
+        this(Utf8.decode(source, from, to), last);
+    }
+
+    private CyrillizerTokenizer(CharBuffer decoded, boolean last) {
+        this(decoded.array(), decoded, 0, decoded.limit(), last);
+    }
+
+    /*
+     * The source is normalized into chars, which can be the array the source
+     * reads from, since no char is written ahead of the last one read.
+     */
+    private CyrillizerTokenizer(char[] chars, CharSequence source, int from, int to, boolean last) {
+        this.last = last;
+        this.chars = chars;
+
+        int normalizedLength = 0;
+        for (int i = from; i < to; i++) {
+            char ch = source.charAt(i);
+            if (!HebrewCharClass.is(ch, HebrewCharClass.NORMALIZED)) {
+                chars[normalizedLength++] = ch;
+                continue;
+            }
+
+            if ((ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe) && i + 1 < to && source.charAt(i + 1) == ch) {
+                ch = Symbols.dot;
+                i++;
+            } else if (ch == Symbols.Hebrew.abbreviation_quotation_mark || ch == Symbols.Hebrew.abbreviation_gershayim) {
+                ch = Symbols.dot;
+            } else if (ch == Symbols.Hebrew.maqaf || ch == Symbols.hyphen) {
+                ch = Symbols.space;
+            } else if (ch == Symbols.Hebrew.vav_vav.charAt(0) && i + 2 < to
+                    && source.charAt(i + 1) == Symbols.Hebrew.dagesh && source.charAt(i + 2) == ch) {
+                chars[normalizedLength++] = ch;
+                i += 2;
+            }
+
+            if (ch == Symbols.space && normalizedLength > 0 && chars[normalizedLength - 1] == Symbols.space)
+                continue;
+
+            chars[normalizedLength++] = ch;
+        }
+
+        int begin = 0;
+        while (begin < normalizedLength && chars[begin] <= Symbols.space)
+            begin++;
+        int end = normalizedLength;
+        while (end > begin && chars[end - 1] <= Symbols.space)
+            end--;
+
+        this.begin = begin;
+        this.end = end;
+
+        tokenize();
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte getKind(int index) {
+        return kinds[index];
+    }
+
+    String getToken(int index) {
+        if (kinds[index] == FILLER)
+            return String.valueOf(Symbols.space);
+
+        return new String(chars, starts[index], ends[index] - starts[index]);
+    }
+
+    /*
+     * Single left-to-right pass reproducing the order in which the former
+     * per-combination passes claimed characters: spaces, dots, יי, וו, a
+     * word-final יו, letters and digits. The skipped positions mirror the
+     * way those passes advanced past a match, so the token stream stays the
+     * same for malformed input as well.
+     */
+    private void tokenize() {
+        int skippedSpace = -1;
+        int skippedDot = -1;
+        int skippedYudYud = -1;
+        int skippedVavVav = -1;
+
+        int i = begin;
+        while (i < end) {
+            char ch = chars[i];
+
+            if (ch == Symbols.space) {
+                if (i == skippedSpace) {
+                    i++;
+                    continue;
+                }
+                int next = skipDiacritics(i + 1);
+                add(i, next, SPACE);
+
+                int diacritics = next - i - 1;
+                for (int filler = 2; filler <= diacritics; filler += 2)
+                    add(i + filler, i + filler, FILLER);
+                if (diacritics > 0 && diacritics % 2 == 0)
+                    skippedSpace = next;
+
+                i = next;
+                continue;
+            }
+
+            if (ch == Symbols.dot) {
+                if (i == skippedDot) {
+                    i++;
+                    continue;
+                }
+                int next = skipDiacritics(i + 1);
+                add(i, next, DOT);
+                if (next == i + 1)
+                    skippedDot = next;
+
+                i = next;
+                continue;
+            }
+
+            if (isPair(i, Symbols.Hebrew.yud_yud) && i != skippedYudYud) {
+                int next = skipDiacritics(i + 2);
+                add(i, next, YUD_YUD);
+                if (next == i + 2)
+                    skippedYudYud = next;
+
+                i = next;
+                continue;
+            }
+
+            if (isPair(i, Symbols.Hebrew.vav_vav) && i != skippedVavVav) {
+                int next = skipDiacritics(i + 2);
+                add(i, next, VAV_VAV);
+                if (next == i + 2)
+                    skippedVavVav = next;
+
+                i = next;
+                continue;
+            }
+
+            if (isPair(i, Symbols.Hebrew.yud_vav) && !isPair(i + 1, Symbols.Hebrew.vav_vav)) {
+                int next = skipDiacritics(i + 2);
+                if (next >= end
+                        || last && next == end - 1
+                        || chars[next] == Symbols.space
+                        || chars[next] == Symbols.dot
+                        || isPair(next, Symbols.Hebrew.yud_yud)
+                        || isPair(next, Symbols.Hebrew.vav_vav)) {
+                    add(i, next, YUD_VAV);
+
+                    i = next;
+                    continue;
+                }
+            }
+
+            int flags = HebrewCharClass.of(ch);
+            if ((flags & HebrewCharClass.LETTER) != 0) {
+                int next = skipDiacritics(i + 1);
+                add(i, next, LETTER);
+
+                i = next;
+                continue;
+            }
+
+            if ((flags & HebrewCharClass.DIGIT) != 0) {
+                int next = i + 1;
+                while (next < end && HebrewCharClass.is(chars[next], HebrewCharClass.DIGIT))
+                    next++;
+                add(i, next, DIGITS);
+
+                i = next;
+                continue;
+            }
+
+            // Nothing up to the next letter, digit, space or dot makes a token
+            i = HebrewCharClass.indexOf(chars, i + 1, end, TOKEN_START);
+        }
+    }
+
+    private boolean isPair(int index, String pair) {
+        return index + 1 < end && chars[index] == pair.charAt(0) && chars[index + 1] == pair.charAt(1);
+    }
+
+    private int skipDiacritics(int index) {
+        while (index < end && HebrewCharClass.is(chars[index], HebrewCharClass.MARK))
+            index++;
+
+        return index;
+    }
+
+    private void add(int start, int end, byte kind) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            kinds = Arrays.copyOf(kinds, size * 2);
+        }
+
+        starts[size] = start;
+        ends[size] = end;
+        kinds[size] = kind;
+        size++;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+
+/*
+ * Transliteration of UTF-8 bytes into UTF-8 bytes, for files and network buffers.
+ *
+ * The text is never decoded as a whole. It is cut between words the way CyrillizerEngine cuts a stream,
+ * deciding on each sequence as the bytes are scanned, and the words up to a cut are decoded straight into
+ * the working copy the tokenizer makes of chars as well. The Cyrillic is encoded as it leaves the last
+ * rewrite stage. Malformed input is replaced the way String replaces it, so the result is the same as
+ * decoding the bytes into a String, transliterating it and encoding the result.
+ */
+public final class CyrillizerUtf8Engine {
+    private static final int CHUNK_SIZE = 8192;
+
+    public byte[] transliterate(byte[] in) {
+        Objects.requireNonNull(in, "Source cannot be null");
+
+        return transliterate(in, 0, in.length);
+    }
+
+    public byte[] transliterate(byte[] in, int offset, int length) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.checkFromIndexSize(offset, length, in.length);
+
+        Utf8.Output out = new Utf8.Output(length + length / 4);
+        transliterate(ByteBuffer.wrap(in), offset, offset + length, out);
+        return out.toByteArray();
+    }
+
+    /*
+     * Reads the bytes from position to limit of in, writes the result at the position of out and moves the
+     * position of in to its limit. If out has no room left a BufferOverflowException is thrown, with the
+     * result written as far as it fit and in left as it was.
+     */
+    public void transliterate(ByteBuffer in, ByteBuffer out) {
+        Objects.requireNonNull(in, "Source cannot be null");
+        Objects.requireNonNull(out, "Output cannot be null");
+
+        transliterate(in, in.position(), in.limit(), new Utf8.Output(out));
+        in.position(in.limit());
+    }
+
+    /*
+     * A word is passed to the tokenizer once a cut follows it and at least CHUNK_SIZE bytes have been
+     * scanned since the last one, so the working copies stay small however long the text is. Whether a
+     * cut can be made is kept track of as CyrillizerEngine.separatorStart would find it: the run of
+     * separators has to end a Hebrew letter with its diacritics, or a plain char, and be followed by
+     * either of them. A supplementary code point is two plain chars to it.
+     */
+    private static void transliterate(ByteBuffer in, int from, int to, Utf8.Output out) {
+        Metrics metrics = Metrics.current();
+        Object event = FlightRecorderHooks.beginTransliteration();
+        long start = metrics != Metrics.NOOP ? System.nanoTime() : 0;
+        int chars = 0;
+        int tokens = 0;
+
+        CyrillicRewriter.Session session = CyrillicRewriter.INSTANCE.newSession(out);
+        int segmentStart = from;
+        int cut = -1;
+        int cutSeparator = -1;
+
+        int separator = -1;
+        boolean endsWord = false;
+        boolean inLetter = false;
+
+        int position = from;
+        while (position < to) {
+            int sequence = Utf8.decodeSequence(in, position, to);
+            int codePoint = Utf8.codePoint(sequence);
+            char ch = Character.isBmpCodePoint(codePoint) ? (char) codePoint : Character.highSurrogate(codePoint);
+            chars += Character.charCount(codePoint);
+
+            if (CyrillizerEngine.isSeparator(ch)) {
+                if (separator < 0)
+                    separator = position;
+                inLetter = false;
+            } else {
+                boolean letter = Symbols.Hebrew.isHebrewLetter(ch);
+                boolean plain = CyrillizerEngine.isPlain(ch);
+                if (separator >= 0 && endsWord && (letter || plain)) {
+                    cut = position;
+                    cutSeparator = separator;
+                }
+                separator = -1;
+
+                if (letter || plain) {
+                    endsWord = true;
+                    inLetter = letter;
+                } else if (CyrillizerEngine.isDiacritic(ch)) {
+                    endsWord = inLetter;
+                } else {
+                    endsWord = false;
+                    inLetter = false;
+                }
+            }
+
+            if (cut > segmentStart && position - segmentStart >= CHUNK_SIZE) {
+                tokens += CyrillizerEngine.transliterate(in, segmentStart, cutSeparator, segmentStart != from, false,
+                        session);
+                session.append(Symbols.space);
+                segmentStart = cut;
+            }
+
+            position += Utf8.length(sequence);
+        }
+
+        tokens += CyrillizerEngine.transliterate(in, segmentStart, to, segmentStart != from, true, session);
+        session.finish();
+
+        if (event != null)
+            FlightRecorderHooks.commitTransliteration(event, chars, tokens, false, false);
+
+        if (metrics != Metrics.NOOP)
+            metrics.transliterated(chars, tokens, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.serafimkogan.hebrewutils;
+
+
+/*
+ * The only way in to the Flight Recorder events. They extend jdk.jfr.Event, which is missing on Android and
+ * from runtime images built without the jdk.jfr module, so the engines never name them: events are passed
+ * around as plain Objects and nothing touches the event classes unless jdk.jfr was found.
+ */
+final class FlightRecorderHooks {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecorderHooks() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderHooks.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // A begun event while a recording takes it, otherwise null
+    static Object beginTransliteration() {
+        return AVAILABLE ? TransliterationEvent.beginIfEnabled() : null;
+    }
+
+    static void commitTransliteration(Object event, int inputLength, int tokenCount, boolean cached, boolean streamed) {
+        ((TransliterationEvent) event).commit(inputLength, tokenCount, cached, streamed);
+    }
+
+    static Object beginSpread() {
+        return AVAILABLE ? SpreadEvent.beginIfEnabled() : null;
+    }
+
+    // The reasons of a successful spread, or the failure and the word it stopped at
+    static void commitSpread(Object event, int inputLength, NikkudimSpreader.ChangeReason[] reasons,
+            NikkudimSpreader.Failure failure, int failedWord) {
+        ((SpreadEvent) event).commit(inputLength, reasons, failure, failedWord);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.serafimkogan.hebrewutils;
+
+
+/*
+ * What each char of ASCII and the Hebrew block is to the tokenizers, looked up in one table instead of a
+ * chain of range checks per char. Everything past the table is nothing to them except the other digits.
+ *
+ * The table is filled from the predicates in Symbols, so the two always agree.
+ */
+final class HebrewCharClass {
+    static final int LETTER = 1;
+    static final int DIGIT = 1 << 1;
+
+    // Anything Symbols.Hebrew.isHebrewDiacritics accepts
+    static final int DIACRITIC = 1 << 2;
+    // Kept in a letter token after the letter
+    static final int MARK = 1 << 3;
+    // Dropped or replaced by removeDiacritics
+    static final int REMOVED = 1 << 4;
+    // Ends a word: space, dot and maqaf
+    static final int BREAK = 1 << 5;
+    // Rewritten when a tokenizer copies its source
+    static final int NORMALIZED = 1 << 6;
+
+    private static final int SIZE = 0x600;
+    private static final byte[] FLAGS = new byte[SIZE];
+
+    static {
+        for (char ch = 0; ch < SIZE; ch++) {
+            int flags = 0;
+
+            if (Symbols.Hebrew.isHebrewLetter(ch))
+                flags |= LETTER;
+            if (Character.isDigit(ch))
+                flags |= DIGIT;
+
+            if (Symbols.Hebrew.isHebrewDiacritics(ch))
+                flags |= DIACRITIC;
+            if ((flags & DIACRITIC) != 0 || ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe)
+                flags |= MARK;
+            if ((flags & DIACRITIC) != 0 || ch == Symbols.Hebrew.geresh || ch == Symbols.Hebrew.abbreviation_gershayim)
+                flags |= REMOVED;
+            if (ch == Symbols.space || ch == Symbols.dot || ch == Symbols.Hebrew.maqaf)
+                flags |= BREAK;
+            if (ch == Symbols.space || ch == Symbols.apostrophe || ch == Symbols.hyphen || ch == Symbols.Hebrew.maqaf
+                    || ch == Symbols.Hebrew.geresh || ch == Symbols.Hebrew.abbreviation_quotation_mark
+                    || ch == Symbols.Hebrew.abbreviation_gershayim || ch == Symbols.Hebrew.vav_vav.charAt(0))
+                flags |= NORMALIZED;
+
+            FLAGS[ch] = (byte) flags;
+        }
+    }
+
+    private HebrewCharClass() {
+    }
+
+    static int of(char ch) {
+        if (ch < SIZE)
+            return FLAGS[ch];
+
+        return Character.isDigit(ch) ? DIGIT : 0;
+    }
+
+    static boolean is(char ch, int mask) {
+        return (of(ch) & mask) != 0;
+    }
+
+    /*
+     * The first index from from up to to of a char in any of the classes of the mask, or to. This is how the
+     * runs of everything else, Latin text most of all, are stepped over in one go.
+     */
+    static int indexOf(CharSequence source, int from, int to, int mask) {
+        for (int i = from; i < to; i++)
+            if ((of(source.charAt(i)) & mask) != 0)
+                return i;
+
+        return to;
+    }
+
+    static int indexOf(char[] chars, int from, int to, int mask) {
+        for (int i = from; i < to; i++)
+            if ((of(chars[i]) & mask) != 0)
+                return i;
+
+        return to;
+    }
+}
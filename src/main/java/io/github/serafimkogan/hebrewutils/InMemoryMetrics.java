@@ -0,0 +1,193 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/*
+ * Metrics kept in LongAdders, so threads counting at once do not contend on one counter. Latencies are
+ * counted in buckets of powers of two microseconds: bucket n holds the calls that took less than 2^n
+ * microseconds and not less than 2^(n-1), the last bucket holding all the longer ones.
+ */
+public final class InMemoryMetrics implements Metrics {
+    public static final int LATENCY_BUCKETS = 24;
+
+    private final LongAdder transliterations = new LongAdder();
+    private final LongAdder transliteratedChars = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder[] transliterationLatencies = adders(LATENCY_BUCKETS);
+
+    private final LongAdder spreads = new LongAdder();
+    private final LongAdder spreadChars = new LongAdder();
+    private final LongAdder words = new LongAdder();
+    private final LongAdder[] spreadLatencies = adders(LATENCY_BUCKETS);
+    private final LongAdder[] changes = adders(NikkudimSpreader.ChangeReason.values().length);
+    private final LongAdder[] failures = adders(NikkudimSpreader.Failure.values().length);
+
+    @Override
+    public void transliterated(int inputLength, int tokenCount, long nanos) {
+        transliterations.increment();
+        transliteratedChars.add(inputLength);
+        tokens.add(tokenCount);
+        transliterationLatencies[bucket(nanos)].increment();
+    }
+
+    @Override
+    public void spread(int inputLength, int wordCount, long nanos) {
+        spreads.increment();
+        spreadChars.add(inputLength);
+        words.add(wordCount);
+        spreadLatencies[bucket(nanos)].increment();
+    }
+
+    @Override
+    public void changed(NikkudimSpreader.ChangeReason reason) {
+        changes[reason.ordinal()].increment();
+    }
+
+    @Override
+    public void spreadFailed(NikkudimSpreader.Failure failure) {
+        failures[failure.ordinal()].increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1000));
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++)
+            adders[i] = new LongAdder();
+
+        return adders;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++)
+            sums[i] = adders[i].sum();
+
+        return sums;
+    }
+
+    /*
+     * Counters read one after another while the metrics keep being updated, so counters of one snapshot
+     * may be a few calls apart.
+     */
+    public static final class Snapshot {
+        private final long transliterations;
+        private final long transliteratedChars;
+        private final long tokens;
+        private final long[] transliterationLatencies;
+        private final long spreads;
+        private final long spreadChars;
+        private final long words;
+        private final long[] spreadLatencies;
+        private final long[] changes;
+        private final long[] failures;
+
+        private Snapshot(InMemoryMetrics metrics) {
+            transliterations = metrics.transliterations.sum();
+            transliteratedChars = metrics.transliteratedChars.sum();
+            tokens = metrics.tokens.sum();
+            transliterationLatencies = sums(metrics.transliterationLatencies);
+            spreads = metrics.spreads.sum();
+            spreadChars = metrics.spreadChars.sum();
+            words = metrics.words.sum();
+            spreadLatencies = sums(metrics.spreadLatencies);
+            changes = sums(metrics.changes);
+            failures = sums(metrics.failures);
+        }
+
+        public long getTransliterationCount() {
+            return transliterations;
+        }
+
+        public long getTransliteratedCharCount() {
+            return transliteratedChars;
+        }
+
+        public long getTokenCount() {
+            return tokens;
+        }
+
+        public long[] getTransliterationLatencies() {
+            return transliterationLatencies.clone();
+        }
+
+        public long getSpreadCount() {
+            return spreads;
+        }
+
+        public long getSpreadCharCount() {
+            return spreadChars;
+        }
+
+        public long getWordCount() {
+            return words;
+        }
+
+        public long[] getSpreadLatencies() {
+            return spreadLatencies.clone();
+        }
+
+        public Map<NikkudimSpreader.ChangeReason, Long> getChanges() {
+            Map<NikkudimSpreader.ChangeReason, Long> counts = new EnumMap<>(NikkudimSpreader.ChangeReason.class);
+            for (NikkudimSpreader.ChangeReason reason : NikkudimSpreader.ChangeReason.values())
+                counts.put(reason, changes[reason.ordinal()]);
+
+            return Collections.unmodifiableMap(counts);
+        }
+
+        // Words that matched no rule and were left as they are
+        public long getFallbackCount() {
+            return changes[NikkudimSpreader.ChangeReason.OTHER.ordinal()];
+        }
+
+        public Map<NikkudimSpreader.Failure, Long> getFailures() {
+            Map<NikkudimSpreader.Failure, Long> counts = new EnumMap<>(NikkudimSpreader.Failure.class);
+            for (NikkudimSpreader.Failure failure : NikkudimSpreader.Failure.values())
+                counts.put(failure, failures[failure.ordinal()]);
+
+            return Collections.unmodifiableMap(counts);
+        }
+
+        // One "name value" line per counter, with a label for the bucket, reason or kind
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            line(builder, "transliterations", null, transliterations);
+            line(builder, "transliterated_chars", null, transliteratedChars);
+            line(builder, "tokens", null, tokens);
+            for (int i = 0; i < transliterationLatencies.length; i++)
+                line(builder, "transliteration_latency", bucketLabel(i), transliterationLatencies[i]);
+            line(builder, "spreads", null, spreads);
+            line(builder, "spread_chars", null, spreadChars);
+            line(builder, "words", null, words);
+            for (int i = 0; i < spreadLatencies.length; i++)
+                line(builder, "spread_latency", bucketLabel(i), spreadLatencies[i]);
+            for (NikkudimSpreader.ChangeReason reason : NikkudimSpreader.ChangeReason.values())
+                line(builder, "changes", reason.name(), changes[reason.ordinal()]);
+            for (NikkudimSpreader.Failure failure : NikkudimSpreader.Failure.values())
+                line(builder, "failures", failure.name(), failures[failure.ordinal()]);
+
+            return builder.toString();
+        }
+
+        private static String bucketLabel(int bucket) {
+            return bucket == LATENCY_BUCKETS - 1 ? "+Inf" : "lt_" + (1L << bucket) + "us";
+        }
+
+        private static void line(StringBuilder builder, String name, String label, long value) {
+            builder.append(name);
+            if (label != null)
+                builder.append('{').append(label).append('}');
+            builder.append(' ').append(value).append(Symbols.next_line);
+        }
+    }
+}
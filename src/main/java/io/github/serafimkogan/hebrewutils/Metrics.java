@@ -0,0 +1,35 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.Objects;
+
+
+/*
+ * Receives what Cyrillizer and NikkudimSpreader do. The installed implementation is the first one found
+ * by ServiceLoader, or NOOP, and can be replaced with install. While NOOP is installed nothing is
+ * measured at all.
+ */
+public interface Metrics {
+    Metrics NOOP = new Metrics() {
+    };
+
+    static Metrics current() {
+        return MetricsRegistry.current;
+    }
+
+    static void install(Metrics metrics) {
+        MetricsRegistry.current = Objects.requireNonNull(metrics, "Metrics cannot be null");
+    }
+
+    default void transliterated(int inputLength, int tokenCount, long nanos) {
+    }
+
+    default void spread(int inputLength, int wordCount, long nanos) {
+    }
+
+    // Once for every word of a successful spread
+    default void changed(NikkudimSpreader.ChangeReason reason) {
+    }
+
+    default void spreadFailed(NikkudimSpreader.Failure failure) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+
+final class MetricsRegistry {
+    static volatile Metrics current = load();
+
+    private MetricsRegistry() {
+    }
+
+    static Metrics load() {
+        return load(Thread.currentThread().getContextClassLoader());
+    }
+
+    // A broken provider must not take every transliteration down with it, so it is ignored
+    static Metrics load(ClassLoader loader) {
+        try {
+            return ServiceLoader.load(Metrics.class, loader).findFirst().orElse(Metrics.NOOP);
+        } catch (ServiceConfigurationError e) {
+            return Metrics.NOOP;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.serafimkogan.hebrewutils;
+
+
+/*
+ * A set of Hebrew marks packed into a long: one bit for every code point
+ * from U+0591 to U+05C7, and one bit each for geresh and apostrophe.
+ */
+public final class NikkudSet {
+    public static final long EMPTY = 0L;
+
+    private static final char FIRST = '֑';
+    private static final char LAST = 'ׇ';
+    private static final int GERESH_BIT = LAST - FIRST + 1;
+    private static final int APOSTROPHE_BIT = GERESH_BIT + 1;
+
+    private NikkudSet() {
+    }
+
+    public static boolean isNikkud(char ch) {
+        return bit(ch) != EMPTY;
+    }
+
+    public static long of(char ch) {
+        return bit(ch);
+    }
+
+    public static long of(char... marks) {
+        long set = EMPTY;
+        for (char mark : marks)
+            set |= bit(mark);
+
+        return set;
+    }
+
+    public static long of(CharSequence text) {
+        long set = EMPTY;
+        for (int i = 0; i < text.length(); i++)
+            set |= bit(text.charAt(i));
+
+        return set;
+    }
+
+    public static boolean contains(long set, char mark) {
+        return (set & bit(mark)) != EMPTY;
+    }
+
+    public static boolean containsAny(long set, long marks) {
+        return (set & marks) != EMPTY;
+    }
+
+    private static long bit(char ch) {
+        if (ch >= FIRST && ch <= LAST)
+            return 1L << (ch - FIRST);
+        if (ch == Symbols.Hebrew.geresh)
+            return 1L << GERESH_BIT;
+        if (ch == Symbols.apostrophe)
+            return 1L << APOSTROPHE_BIT;
+
+        return EMPTY;
+    }
+}
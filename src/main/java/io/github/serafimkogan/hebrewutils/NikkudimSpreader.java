@@ -1,40 +1,175 @@
 package io.github.serafimkogan.hebrewutils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class NikkudimSpreader {
 	private static final String ILLEGAL_ARGUMENT_EXCEPTION_MESSAGE = "Unable to spread diacritics from given source, most likely completely different words have been provided";
 	private static final String NULL_POINTER_EXCEPTION_MESSAGE = "Given arguments shouldn't be null";
+	private static final int MIN_BATCH_SLICE = 64;
+	private static final int SLICES_PER_THREAD = 8;
+	private static final CyrillizerEngine ENGINE = new CyrillizerEngine();
 	
 	private String reference;
     private String billet;
-	private ArrayList<Change> changes = new ArrayList<>();
+	private ArrayList<Change> changes;
+	private ChangeReason[] reasons;
 	private String result;
      
     public NikkudimSpreader(String reference, String billet) {
+    	this(reference, billet, false);
+    }
+    
+    /*
+     * With diagnostics on, every word keeps its tokens so that getMetaData can describe it without spreading 
+     * again; otherwise only the result and the reason of each change are kept.
+     */
+    public NikkudimSpreader(String reference, String billet, boolean diagnostics) {
     	if (reference == null || billet == null)
     		throw new NullPointerException(NULL_POINTER_EXCEPTION_MESSAGE);  	
     	
     	this.reference = reference;
     	this.billet = billet;
-
-		TokenList referenceTokens = new TokenList(this.reference, false);
-		TokenList billetTokens = new TokenList(this.billet, false);
+    	
+    	if (diagnostics)
+    		changes = new ArrayList<>();
+    	Outcome outcome = measuredSpread(reference, billet, changes);
+    	if (!outcome.isSuccess())
+    		throw outcome.toException();
+    	
+		result = outcome.result;
+		reasons = outcome.reasons;
+    }
+    
+    /*
+     * Same as the constructor, but inputs that cannot be spread are reported by the outcome rather than 
+     * by an exception, for callers trying a billet against many references.
+     */
+    public static Outcome trySpread(String reference, String billet) {
+    	if (reference == null || billet == null)
+    		throw new NullPointerException(NULL_POINTER_EXCEPTION_MESSAGE);
+    	
+    	return measuredSpread(reference, billet, null);
+    }
+    
+    public static Report spreadAll(Stream<? extends Map.Entry<String, String>> pairs) {
+    	Objects.requireNonNull(pairs, NULL_POINTER_EXCEPTION_MESSAGE);
+    	
+    	return spreadAll(pairs.collect(Collectors.toList()));
+    }
+    
+    /*
+     * Pairs of reference and billet are spread across the common pool in slices, the same way 
+     * CyrillizerEngine.transliterateAll splits its sources. Failures do not stop the run, they are 
+     * kept in the report at the index of their pair.
+     */
+    public static Report spreadAll(List<? extends Map.Entry<String, String>> pairs) {
+    	Objects.requireNonNull(pairs, NULL_POINTER_EXCEPTION_MESSAGE);
+    	
+    	String[] references = new String[pairs.size()];
+    	String[] billets = new String[pairs.size()];
+    	int i = 0;
+    	for (Map.Entry<String, String> pair : pairs) {
+    		if (pair == null || pair.getKey() == null || pair.getValue() == null)
+    			throw new NullPointerException(NULL_POINTER_EXCEPTION_MESSAGE);
+    		references[i] = pair.getKey();
+    		billets[i++] = pair.getValue();
+    	}
+    	
+    	Outcome[] outcomes = new Outcome[references.length];
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int slice = Math.max(MIN_BATCH_SLICE, references.length / (pool.getParallelism() * SLICES_PER_THREAD));
+		
+		long[] histogram;
+		if (references.length <= slice)
+			histogram = spreadAll(references, billets, outcomes, 0, references.length);
+		else
+			histogram = pool.invoke(new BatchTask(references, billets, outcomes, 0, references.length, slice));
+		
+		return new Report(outcomes, histogram);
+    }
+    
+    private static long[] spreadAll(String[] references, String[] billets, Outcome[] outcomes, int from, int to) {
+    	long[] histogram = new long[ChangeReason.values().length];
+    	for (int i = from; i < to; i++) {
+    		Outcome outcome = measuredSpread(references[i], billets[i], null);
+    		if (outcome.isSuccess())
+    			for (ChangeReason reason : outcome.reasons)
+    				histogram[reason.ordinal()]++;
+    		outcomes[i] = outcome;
+    	}
+    	
+    	return histogram;
+    }
+    
+    /*
+     * Spreads and reports to the installed metrics and to Flight Recorder, which getMetaData skips when 
+     * it spreads again.
+     */
+    private static Outcome measuredSpread(String reference, String billet, ArrayList<Change> changes) {
+    	Metrics metrics = Metrics.current();
+    	Object event = FlightRecorderHooks.beginSpread();
+    	long start = metrics != Metrics.NOOP ? System.nanoTime() : 0;
+    	Outcome outcome = spread(reference, billet, changes);
+    	
+    	if (event != null)
+    		FlightRecorderHooks.commitSpread(event, billet.length(), outcome.reasons, outcome.failure, outcome.wordIndex);
+    	
+    	if (metrics != Metrics.NOOP)
+    		report(metrics, billet, outcome, System.nanoTime() - start);
+    	
+    	return outcome;
+    }
+    
+    private static void report(Metrics metrics, String billet, Outcome outcome, long nanos) {
+    	if (outcome.isSuccess()) {
+    		metrics.spread(billet.length(), outcome.reasons.length, nanos);
+    		for (ChangeReason reason : outcome.reasons)
+    			metrics.changed(reason);
+    	} else {
+    		metrics.spread(billet.length(), 0, nanos);
+    		metrics.spreadFailed(outcome.failure);
+    	}
+    }
+    
+    private static Outcome spread(String reference, String billet, ArrayList<Change> changes) {
+		TokenList referenceTokens = new TokenList(reference);
+		TokenList billetTokens = new TokenList(billet);
 		
 		if (billetTokens.size() != referenceTokens.size()) 
-			throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION_MESSAGE);
+			return Outcome.WORD_COUNT_MISMATCH;
 			
-		StringBuilder builder = new StringBuilder();
+		ChangeReason[] reasons = new ChangeReason[billetTokens.size()];
+		StringBuilder builder = new StringBuilder(billet.length() * 2);
 		for (int i = 0; i < billetTokens.size(); i++) {
-			Change change = new Change(referenceTokens.get(i), billetTokens.get(i));
-    		changes.add(change);
+			Word referenceWord = referenceTokens.getWord(i);
+			Word billetWord = billetTokens.getWord(i);
+			
+			Token billetFirst = billetWord.get(0);
+			Token referenceFirst = referenceWord.get(0);
+			if (billetFirst.isHebrewToken && !billetFirst.root.equals(referenceFirst.root))
+				return new Outcome(Failure.ROOT_MISMATCH, billetTokens.getWordNumber(i), billetFirst.root, 
+						referenceFirst.root);
+			
+			Change change = new Change(referenceWord, billetWord);
+			reasons[i] = change.reason;
     		builder.append(change.after);
+    		if (changes != null)
+    			changes.add(change);
 		}
 		
-		result = builder.toString();
+		return new Outcome(builder.toString(), reasons);
     }
     
     public String getResult() {
@@ -49,9 +184,22 @@ public class NikkudimSpreader {
         return reference;
     }
     
+    /*
+     * The reason of every change in the order getMetaData lists them: one for each letter together with the 
+     * vavs and yuds after it, and one for each space, maqaf or dot.
+     */
+    public List<ChangeReason> getChangeReasons() {
+    	return List.of(reasons);
+    }
+    
 	public String getMetaData() {
-		StringBuilder builder = new StringBuilder();
+		ArrayList<Change> changes = this.changes;
+		if (changes == null) {
+			changes = new ArrayList<>();
+			spread(reference, billet, changes);
+		}
 		
+		StringBuilder builder = new StringBuilder();
 		for (Change change : changes) {
 			builder.append(change.getMetaData());
 			builder.append(Symbols.next_line);
@@ -64,18 +212,167 @@ public class NikkudimSpreader {
 		builder.append("after: ");
 		builder.append(result);
 		builder.append(" | cyrillization: ");
-		builder.append(new Cyrillizer(result).getResult());
+		builder.append(ENGINE.transliterateUnmeasured(result));
 		
 		builder.append(Symbols.next_line);
 		
 		builder.append("reference: ");
 		builder.append(reference);
 		builder.append(" | cyrillization: ");
-		builder.append(new Cyrillizer(reference).getResult());
+		builder.append(ENGINE.transliterateUnmeasured(reference));
 
 		return builder.toString();
 	}
 
+	public enum Failure {
+		WORD_COUNT_MISMATCH,
+		ROOT_MISMATCH,
+		NO_REFERENCE
+	}
+	
+	public static final class Outcome {
+		private static final Outcome WORD_COUNT_MISMATCH = new Outcome(Failure.WORD_COUNT_MISMATCH, -1, null, null);
+		static final Outcome NO_REFERENCE = new Outcome(Failure.NO_REFERENCE, -1, null, null);
+		
+		private final String result;
+		private final ChangeReason[] reasons;
+		private final Failure failure;
+		private final int wordIndex;
+		private final String billetRoot;
+		private final String referenceRoot;
+		
+		private Outcome(String result, ChangeReason[] reasons) {
+			this.result = result;
+			this.reasons = reasons;
+			this.failure = null;
+			this.wordIndex = -1;
+			this.billetRoot = null;
+			this.referenceRoot = null;
+		}
+		
+		private Outcome(Failure failure, int wordIndex, String billetRoot, String referenceRoot) {
+			this.result = null;
+			this.reasons = null;
+			this.failure = failure;
+			this.wordIndex = wordIndex;
+			this.billetRoot = billetRoot;
+			this.referenceRoot = referenceRoot;
+		}
+		
+		public boolean isSuccess() {
+			return failure == null;
+		}
+		
+		public String getResult() {
+			return result;
+		}
+		
+		public Failure getFailure() {
+			return failure;
+		}
+		
+		// The word where spreading stopped, or -1 if it did not stop at a particular word
+		public int getWordIndex() {
+			return wordIndex;
+		}
+		
+		// Empty unless the spread succeeded, see NikkudimSpreader.getChangeReasons
+		public List<ChangeReason> getChangeReasons() {
+			return reasons == null ? List.of() : List.of(reasons);
+		}
+		
+		private IllegalArgumentException toException() {
+			if (failure == Failure.ROOT_MISMATCH)
+				return new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION_MESSAGE
+						+ ", token \"" + billetRoot + "\""
+						+ " doesn't match with token \"" + referenceRoot + "\"");
+			
+			return new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION_MESSAGE);
+		}
+	}
+	
+	public static final class Report {
+		private final Outcome[] outcomes;
+		private final long[] histogram;
+		
+		private Report(Outcome[] outcomes, long[] histogram) {
+			this.outcomes = outcomes;
+			this.histogram = histogram;
+		}
+		
+		public int size() {
+			return outcomes.length;
+		}
+		
+		public Outcome getOutcome(int index) {
+			return outcomes[index];
+		}
+		
+		// Results of the spread pairs by their index, in the order of the pairs
+		public Map<Integer, String> getSuccesses() {
+			Map<Integer, String> successes = new LinkedHashMap<>();
+			for (int i = 0; i < outcomes.length; i++)
+				if (outcomes[i].isSuccess())
+					successes.put(i, outcomes[i].getResult());
+			
+			return Collections.unmodifiableMap(successes);
+		}
+		
+		public Map<Integer, Outcome> getFailures() {
+			Map<Integer, Outcome> failures = new LinkedHashMap<>();
+			for (int i = 0; i < outcomes.length; i++)
+				if (!outcomes[i].isSuccess())
+					failures.put(i, outcomes[i]);
+			
+			return Collections.unmodifiableMap(failures);
+		}
+		
+		// How many words of the spread pairs every reason has changed, the failed pairs left out
+		public Map<ChangeReason, Long> getChangeReasonHistogram() {
+			Map<ChangeReason, Long> counts = new EnumMap<>(ChangeReason.class);
+			for (ChangeReason reason : ChangeReason.values())
+				if (histogram[reason.ordinal()] > 0)
+					counts.put(reason, histogram[reason.ordinal()]);
+			
+			return Collections.unmodifiableMap(counts);
+		}
+	}
+	
+	@SuppressWarnings("serial")
+	private static final class BatchTask extends RecursiveTask<long[]> {
+		private final String[] references;
+		private final String[] billets;
+		private final Outcome[] outcomes;
+		private final int from;
+		private final int to;
+		private final int slice;
+		
+		private BatchTask(String[] references, String[] billets, Outcome[] outcomes, int from, int to, int slice) {
+			this.references = references;
+			this.billets = billets;
+			this.outcomes = outcomes;
+			this.from = from;
+			this.to = to;
+			this.slice = slice;
+		}
+		
+		@Override
+		protected long[] compute() {
+			if (to - from <= slice)
+				return spreadAll(references, billets, outcomes, from, to);
+			
+			int middle = (from + to) >>> 1;
+			BatchTask left = new BatchTask(references, billets, outcomes, from, middle, slice);
+			left.fork();
+			long[] histogram = new BatchTask(references, billets, outcomes, middle, to, slice).compute();
+			long[] leftHistogram = left.join();
+			for (int i = 0; i < histogram.length; i++)
+				histogram[i] += leftHistogram[i];
+			
+			return histogram;
+		}
+	}
+	
 	private enum Sequence {
 		VAV("ו"),
 		YUD("י"),
@@ -95,23 +392,54 @@ public class NikkudimSpreader {
 		VAVVAVYUDYUD("וויי"),
 		OTHER("");
 		
+		private static final int MAX_LENGTH = 4;
+		private static final Sequence[] SEQUENCES = new Sequence[2 << MAX_LENGTH];
+		static {
+			for (Sequence sequence : values())
+				if (sequence != OTHER)
+					SEQUENCES[getCode(sequence.sequence.toCharArray(), 0, sequence.sequence.length(), false)] = sequence;
+		}
+		
 		final String sequence;
 		Sequence(String sequence) {
 			this.sequence = sequence;
 		}
 		
-		static Sequence getSequence(String string) {
-			for (Sequence sequence : values()) {
-				if (sequence.sequence.equals(string)) {
-					return sequence;
-				}
+		// Same as matching the text from the given index with apostrophes, and optionally diacritics, left out
+		static Sequence getSequence(char[] chars, int from, int to, boolean skipDiacritics) {
+			int code = getCode(chars, from, to, skipDiacritics);
+			if (code < 0 || SEQUENCES[code] == null)
+				return OTHER;
+			
+			return SEQUENCES[code];
+		}
+		
+		// A tail of up to four vavs and yuds is packed as 1 << length | bits, yuds being ones
+		private static int getCode(char[] chars, int from, int to, boolean skipDiacritics) {
+			int length = 0;
+			int bits = 0;
+			for (int i = from; i < to; i++) {
+				char ch = chars[i];
+				if (ch == Symbols.apostrophe || skipDiacritics && (ch == Symbols.Hebrew.geresh 
+						|| ch == Symbols.Hebrew.abbreviation_gershayim || Symbols.Hebrew.isHebrewDiacritics(ch)))
+					continue;
+				
+				if (length == MAX_LENGTH)
+					return -1;
+				if (ch == 'ו')
+					bits <<= 1;
+				else if (ch == 'י')
+					bits = bits << 1 | 1;
+				else
+					return -1;
+				length++;
 			}
 			
-			return OTHER;
+			return 1 << length | bits;
 		}
 	}
 	
-	private enum ChangeReason {
+	public enum ChangeReason {
     	REGULAR(Sequence.NULL, Sequence.NULL),
     	VAV_TO_NULL(Sequence.VAV, Sequence.NULL),
     	YUD_TO_NULL(Sequence.YUD, Sequence.NULL),
@@ -144,6 +472,13 @@ public class NikkudimSpreader {
 		VAVVAVYUD_TO_VAVVAVYUDYUD(Sequence.VAVVAVYUD, Sequence.VAVVAVYUDYUD),
     	OTHER(Sequence.NULL, Sequence.NULL);
 
+		private static final ChangeReason[][] REASONS = new ChangeReason[Sequence.values().length][Sequence.values().length];
+		static {
+			for (ChangeReason reason : values())
+				if (REASONS[reason.from.ordinal()][reason.to.ordinal()] == null)
+					REASONS[reason.from.ordinal()][reason.to.ordinal()] = reason;
+		}
+
 		final Sequence from; 
 		final Sequence to; 
 		ChangeReason(Sequence from, Sequence to) {
@@ -152,410 +487,490 @@ public class NikkudimSpreader {
 		}
 
 		static ChangeReason getChangeReason(Sequence from, Sequence to) {
-			for (ChangeReason reason : values()) {
-				if (from == reason.from && to == reason.to) {
-					return reason;
+			ChangeReason reason = REASONS[from.ordinal()][to.ordinal()];
+			return reason != null ? reason : OTHER;
+		}
+	}
+	
+	/*
+	 * Letter-level tokens of the whole text, made in a single pass: a letter with its marks, a space, a dot, 
+	 * a maqaf or a run of digits. A word is a run of such tokens, where a letter takes along the vavs and 
+	 * yuds right after it, and is only viewed through Word.
+	 */
+	private static class TokenList {
+		private static final int TOKEN_START = HebrewCharClass.LETTER | HebrewCharClass.DIGIT | HebrewCharClass.BREAK;
+		
+		private final char[] chars;
+		private final ArrayList<Token> tokens = new ArrayList<>();
+		private int[] words = new int[16];
+		private int size;
+	    
+	    private TokenList(String source) {
+	    	chars = new char[source.length()];
+	    	
+	    	int length = 0;
+	    	for (int i = 0; i < source.length(); i++) {
+	    		char ch = source.charAt(i);
+	    		if (!HebrewCharClass.is(ch, HebrewCharClass.NORMALIZED)) {
+	    			chars[length++] = ch;
+	    			continue;
+	    		}
+	    		
+	    		if ((ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe) && i + 1 < source.length() && source.charAt(i + 1) == ch) {
+	    			ch = Symbols.dot;
+	    			i++;
+	    		} else if (ch == Symbols.Hebrew.abbreviation_quotation_mark || ch == Symbols.Hebrew.abbreviation_gershayim) {
+	    			ch = Symbols.dot;
+	    		} else if (ch == Symbols.hyphen) {
+	    			ch = Symbols.Hebrew.maqaf;
+	    		}
+	    		
+	    		chars[length++] = ch;
+	    	}
+	    	
+	    	tokenize(length);
+		}
+	    
+	    private int size() {
+	    	return size;
+	    }
+	    
+	    /*
+	     * The 0-based word of the text that the group of tokens starts in, words being the runs of text 
+	     * between whitespace and maqafs.
+	     */
+	    private int getWordNumber(int index) {
+	    	int end = tokens.get(words[index]).start;
+	    	int count = 0;
+	    	boolean inWord = false;
+	    	for (int i = 0; i < end; i++) {
+	    		boolean separator = Character.isWhitespace(chars[i]) || chars[i] == Symbols.Hebrew.maqaf;
+	    		if (separator && inWord)
+	    			count++;
+	    		inWord = !separator;
+	    	}
+	    	
+	    	return count;
+	    }
+	    
+	    private Word getWord(int index) {
+	    	int to = index + 1 < size ? words[index + 1] : tokens.size();
+	    	return new Word(this, words[index], to);
+	    }
+		
+		private void tokenize(int length) {
+			int i = 0;
+			while (i < length) {
+				char ch = chars[i];
+				int flags = HebrewCharClass.of(ch);
+				
+				if ((flags & HebrewCharClass.BREAK) != 0) {
+					addWord();
+					tokens.add(new Token(chars, i, i + 1));
+					i++;
+				} else if ((flags & HebrewCharClass.LETTER) != 0) {
+					int next = i + 1;
+					while (next < length && HebrewCharClass.is(chars[next], HebrewCharClass.MARK))
+						next++;
+					
+					if (!((ch == 'ו' || ch == 'י') && continuesWord(i)))
+						addWord();
+					tokens.add(new Token(chars, i, next));
+					i = next;
+				} else if ((flags & HebrewCharClass.DIGIT) != 0) {
+					int next = i + 1;
+					while (next < length && HebrewCharClass.is(chars[next], HebrewCharClass.DIGIT))
+						next++;
+					
+					addWord();
+					tokens.add(new Token(chars, i, next));
+					i = next;
+				} else {
+					i = HebrewCharClass.indexOf(chars, i + 1, length, TOKEN_START);
 				}
 			}
+		}
+		
+		private boolean continuesWord(int index) {
+			if (tokens.isEmpty())
+				return false;
 			
-			return OTHER;
+			Token previous = tokens.get(tokens.size() - 1);
+			return previous.isHebrewToken && previous.end == index;
+		}
+		
+		private void addWord() {
+			if (size == words.length)
+				words = Arrays.copyOf(words, size * 2);
+			words[size++] = tokens.size();
 		}
 	}
 	
-	@SuppressWarnings("serial")
-	private static class TokenList extends ArrayList<Token> {
-		private String source;
-	    private String stringToTokenize;
-	    private HashMap<Integer, String> tokens = new HashMap<>();
-	    
-	    private TokenList(String stringToTokenize, boolean separateYudsAndVavs) {
-	    	this.source = stringToTokenize;
-	        this.stringToTokenize = stringToTokenize
-	                .replace(Symbols.Hebrew.abbreviation_two_gereshs, String.valueOf(Symbols.dot))
-	                .replace(Symbols.Hebrew.abbreviation_two_apostrophes, String.valueOf(Symbols.dot))
-	                .replace(Symbols.Hebrew.abbreviation_quotation_mark, Symbols.dot)
-	                .replace(Symbols.Hebrew.abbreviation_gershayim, Symbols.dot)
-	                .replace("-", "־");
-
-	        tokenizePredefinedCombination(" ");
-	        tokenizePredefinedCombination(".");
-	        tokenizePredefinedCombination("־");
-	        tokenizeLetters(separateYudsAndVavs);
-	        tokenizeDigits();
-
-	        generateTokensSet();
+	private static class Word {
+		private final TokenList list;
+		private final int from;
+		private final int to;
+		
+		private Word(TokenList list, int from, int to) {
+			this.list = list;
+			this.from = from;
+			this.to = to;
+		}
+		
+		private Token get(int index) {
+			Objects.checkIndex(index, to - from);
+			return list.tokens.get(from + index);
+		}
+		
+		private char[] chars() {
+			return list.chars;
+		}
+		
+		private int start() {
+			return list.tokens.get(from).start;
+		}
+		
+		private int end() {
+			return list.tokens.get(to - 1).end;
+		}
+		
+		private String source() {
+			return new String(list.chars, start(), end() - start());
 		}
 		
 		public String toString() {
-			StringBuilder builder = new StringBuilder();
-			for (Token token : this) 
-				builder.append(token.toString());
-			
-			return builder.toString();
+			return toString(false, false);
+		}
+		
+		// As tokenized, before any marks were copied into it
+		private String toOriginalString(boolean asTokenList) {
+			return toString(true, asTokenList);
 		}
 		
 		private String toStringAsTokenList() {
+			return toString(false, true);
+		}
+		
+		private String toString(boolean original, boolean asTokenList) {
 			StringBuilder builder = new StringBuilder();
-			for (Token token : this) 
-				builder.append(token.toStringAsToken());
+			for (int i = from; i < to; i++) {
+				if (asTokenList)
+					builder.append("[");
+				if (original)
+					list.tokens.get(i).appendOriginalTo(builder, list.chars);
+				else
+					list.tokens.get(i).appendTo(builder);
+				if (asTokenList)
+					builder.append("]");
+			}
 			
 			return builder.toString();
 		}
 		
-		private void generateTokensSet() {
-	        for (int i = 0; i < stringToTokenize.length(); i++) 
-	            if (tokens.get(i) != null) 
-	            	this.add(new Token(tokens.get(i)));
-	    }
-		
-	    private void tokenizePredefinedCombination(String combination) {
-	        if (!stringToTokenize.contains(combination))
-	            return;
-	    	
-	        for (int i = 0; i < stringToTokenize.length() - combination.length() + 1; i++) {
-	            if (stringToTokenize.substring(i, i + combination.length()).equals(combination)) {
-	                tokens.put(i, combination);
-	            }
-	        }
-
-	        StringBuilder spaceBuilder = new StringBuilder();
-	        for (int i = 0; i < combination.length(); i++)
-	            spaceBuilder.append(" ");
-	        stringToTokenize = stringToTokenize.replace(combination, spaceBuilder);
-	    }
-	    
-	    private void tokenizeLetters(boolean separateYudsAndVavs) {
-	        for (int i = 0; i < stringToTokenize.length(); i++) {
-	            if (Symbols.Hebrew.isHebrewLetter(stringToTokenize.charAt(i))) {
-
-	                StringBuilder builder = new StringBuilder();
-	                builder.append(stringToTokenize.charAt(i));
-
-	                if (i == stringToTokenize.length() - 1) {
-	                    tokens.put(i, builder.toString());
-	                } else {
-	                    for (int j = i + 1; j <= stringToTokenize.length(); j++) {
-	                        if (j != stringToTokenize.length()
-	                                && (Symbols.Hebrew.isHebrewDiacritics(stringToTokenize.charAt(j))
-	                                || stringToTokenize.charAt(j) == Symbols.Hebrew.geresh
-	                                || stringToTokenize.charAt(j) == Symbols.apostrophe
-	                                || !separateYudsAndVavs && stringToTokenize.charAt(j) == 'ו'
-	                                || !separateYudsAndVavs && stringToTokenize.charAt(j) == 'י')) {
-	                            builder.append(stringToTokenize.charAt(j));
-	                        } else {
-	                            tokens.put(i, builder.toString());
-	                            i = j - 1;
-	                            break;
-	                        }
-	                    }
-	                }
-	            }
-	        }
-	    }
-
-	    private void tokenizeDigits() {
-	        for (int i = 0; i < stringToTokenize.length(); i++) {
-	            if (Character.isDigit(stringToTokenize.charAt(i))) {
-
-	                StringBuilder builder = new StringBuilder();
-	                builder.append(stringToTokenize.charAt(i));
-
-	                if (i == stringToTokenize.length() - 1) {
-	                    tokens.put(i, builder.toString());
-	                } else {
-	                    for (int j = i + 1; j <= stringToTokenize.length(); j++) {
-	                        if (j == stringToTokenize.length() || !Character.isDigit(stringToTokenize.charAt(j))) {
-	                            tokens.put(i, builder.toString());
-	                            i = j - 1;
-	                            break;
-	                        } else {
-	                            builder.append(stringToTokenize.charAt(j));
-	                        }
-	                    }
-	                }
-	            }
-	        }
-	    }
-
+		// The word as a single token: its letters followed by all of its marks sorted
+		private String toStringAsToken() {
+			if (!get(0).isHebrewToken)
+				return "[" + get(0).root + "]";
+			
+			StringBuilder builder = new StringBuilder(end() - start() + 2);
+			builder.append("[");
+			for (int i = start(); i < end(); i++)
+				if (Symbols.Hebrew.isHebrewLetter(list.chars[i]))
+					builder.append(list.chars[i]);
+			
+			char[] marks = new char[end() - start()];
+			int length = 0;
+			for (int i = start(); i < end(); i++)
+				if (!Symbols.Hebrew.isHebrewLetter(list.chars[i]))
+					marks[length++] = list.chars[i];
+			Arrays.sort(marks, 0, length);
+			builder.append(marks, 0, length);
+			builder.append("]");
+			
+			return builder.toString();
+		}
 	}
 	
 	private static class Token {
+        private static final char FIRST_LETTER = 'א';
+        private static final String[] LETTERS = new String['ײ' - FIRST_LETTER + 1];
+        static {
+        	for (int i = 0; i < LETTERS.length; i++)
+        		LETTERS[i] = String.valueOf((char) (FIRST_LETTER + i));
+        }
+		
+        private final int start;
+        private final int end;
         private String root;
-        private String fullToken;
-        private ArrayList<Character> nikkudim = new ArrayList<>();
+        private long nikkudim = NikkudSet.EMPTY;
+        private String nikkudimText = "";
         private boolean isHebrewToken = false;
         
-        private Token(String string) {
-        	nikkudim.clear();
+        private Token(char[] chars, int start, int end) {
+        	this.start = start;
+        	this.end = end;
         	
-            fullToken = string;
-
-            StringBuilder rootBuilder = new StringBuilder();
-            char firstChar = string.charAt(0);
+            char firstChar = chars[start];
             if (Symbols.Hebrew.isHebrewLetter(firstChar)) {
                 isHebrewToken = true;
+                root = LETTERS[firstChar - FIRST_LETTER];
                 
-                for (char ch : string.toCharArray()) {
-                    if (Symbols.Hebrew.isHebrewLetter(ch)) {
-                        rootBuilder.append(ch);
-                    } else {
-                        nikkudim.add(ch);
-                    }
+                if (end - start > 1) {
+                	char[] sorted = Arrays.copyOfRange(chars, start + 1, end);
+                	Arrays.sort(sorted);
+                	nikkudimText = new String(sorted);
+                	nikkudim = NikkudSet.of(sorted);
                 }
-                root = rootBuilder.toString();
             } else {
-                root = fullToken;
+                root = new String(chars, start, end - start);
             }
-            
-            Collections.sort(nikkudim);
         }
         
-        public String toString() {
-        	StringBuilder builder = new StringBuilder();
-        	
-        	builder.append(this.root);
-			for (char nikkud : this.nikkudim)
-				builder.append(nikkud);
-			
-			return builder.toString();
+        // The text keeps the order and repeats of copied marks, which the result shows
+        private void addNikkudim(Token token) {
+        	nikkudimText = nikkudimText.concat(token.nikkudimText);
+        	nikkudim |= token.nikkudim;
         }
         
-        private String toStringAsToken() {
-        	StringBuilder builder = new StringBuilder();
-        	
-        	builder.append("[");
-			builder.append(this.toString());
-			builder.append("]");
-			
-			return builder.toString();
+        private void addNikkud(char nikkud) {
+        	nikkudimText = nikkudimText + nikkud;
+        	nikkudim |= NikkudSet.of(nikkud);
+        }
+        
+        private void removeNikkud(char nikkud) {
+        	nikkudimText = nikkudimText.replace(String.valueOf(nikkud), "");
+        	nikkudim &= ~NikkudSet.of(nikkud);
+        }
+        
+        private void appendTo(StringBuilder builder) {
+        	builder.append(root);
+        	builder.append(nikkudimText);
+        }
+        
+        private void appendOriginalTo(StringBuilder builder, char[] chars) {
+        	builder.append(root);
+        	if (isHebrewToken && end - start > 1) {
+        		char[] sorted = Arrays.copyOfRange(chars, start + 1, end);
+        		Arrays.sort(sorted);
+        		builder.append(sorted);
+        	}
+        }
+        
+        public String toString() {
+        	return root.concat(nikkudimText);
         }
     }
+
 	
 	private static class Change {
 		private ChangeReason reason = ChangeReason.OTHER;
-		private String before;
-		private String beforeAsTokenList;
+		private final Word reference;
+		private final Word billet;
 		private String after;
-		private String afterAsTokenList;
-		private String reference;
-		private String referenceAsTokenList;
-		
-		private Change(Token referenceToken, Token billetToken) {
-			TokenList billetTokenList = new TokenList(billetToken.fullToken, true);
-			TokenList referenceTokenList = new TokenList(referenceToken.fullToken, true);
-		    
-			if (billetTokenList.get(0).isHebrewToken && !billetTokenList.get(0).root.equals(referenceTokenList.get(0).root)) {
-				throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION_MESSAGE
-						+ ", token \"" + billetTokenList.get(0).root + "\""
-						+ " doesn't match with token \"" + referenceTokenList.get(0).root + "\"");
-			}
-			
-			this.before = billetTokenList.toString();
-			this.beforeAsTokenList = billetTokenList.toStringAsTokenList();
-			this.reference = referenceTokenList.toString();
-			this.referenceAsTokenList = referenceTokenList.toStringAsTokenList();
+		
+		private Change(Word referenceTokenList, Word billetTokenList) {
+			this.reference = referenceTokenList;
+			this.billet = billetTokenList;
 			
-			String referenceWithoutDiacritics = Symbols.Hebrew.removeDiacritics(referenceTokenList.source);
-			Sequence root = Sequence.getSequence(referenceWithoutDiacritics.substring(1).replace(String.valueOf(Symbols.apostrophe), ""));
-			Sequence key = Sequence.getSequence(billetTokenList.source.substring(1).replace(String.valueOf(Symbols.apostrophe), ""));
+			Sequence root = Sequence.getSequence(referenceTokenList.chars(), referenceTokenList.start() + 1, referenceTokenList.end(), true);
+			Sequence key = Sequence.getSequence(billetTokenList.chars(), billetTokenList.start() + 1, billetTokenList.end(), false);
 			
 			
 			reason = ChangeReason.getChangeReason(root, key);
 			
-			if (referenceWithoutDiacritics.equals(billetTokenList.source)) {
+			if (equalsWithoutDiacritics(referenceTokenList, billetTokenList)) {
 				reason = ChangeReason.REGULAR;
-				after = referenceToken.fullToken;
-				afterAsTokenList = referenceToken.toStringAsToken();
+				after = referenceTokenList.source();
 			} else {
 				switch (reason) {
 					case REGULAR: {
 						return;
 					}
 					case VAV_TO_NULL: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case YUD_TO_NULL: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						if (!billetTokenList.get(0).nikkudim.contains(Symbols.Hebrew.hiriq))
-							billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.hiriq);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						if (!NikkudSet.contains(billetTokenList.get(0).nikkudim, Symbols.Hebrew.hiriq))
+							billetTokenList.get(0).addNikkud(Symbols.Hebrew.hiriq);
 						break;
 					}
 					case NULL_TO_YUD: {
 						break;
 					}
 					case YUDYUD_TO_YUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
 						break;
 					}
 					case NULL_TO_YUDYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
 						break;
 					}
 					case YUD_TO_YUDYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case VAV_TO_YUDVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);	
-						billetTokenList.get(2).nikkudim.removeIf(ch -> (ch == Symbols.Hebrew.hiriq));
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));	
+						billetTokenList.get(2).removeNikkud(Symbols.Hebrew.hiriq);
 						break;
 					}
 					case YUD_TO_YUDVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(2).nikkudim.removeIf(ch -> (ch == Symbols.Hebrew.dagesh));
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(2).removeNikkud(Symbols.Hebrew.dagesh);
 						break;
 					}
 					case VAVYUD_TO_YUDVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case YUDVAV_TO_YUDVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(1).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(1).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case VAVVAV_TO_YUDVAVVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case VAV_TO_YUDVAVVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case YUDVAVVAV_TO_YUDVAVYUDVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(4).nikkudim.addAll(referenceTokenList.get(3).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(4).addNikkudim(referenceTokenList.get(3));
 						break;
 					}
 					case YUDVAVVAVYUD_TO_YUDVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
 						break;
 					}
 					case NULL_TO_VAV: {
 						if (Symbols.Hebrew.nikkudimContainsNonStressedO(referenceTokenList.get(0).nikkudim)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.holam);
-							if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh))
-								billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.dagesh);
-			            } else if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.dagesh);
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.holam);
+							if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh))
+								billetTokenList.get(0).addNikkud(Symbols.Hebrew.dagesh);
+			            } else if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh)) {
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.dagesh);
 			            }
 						break;
 					}
 					case VAVVAV_TO_VAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(1).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(1).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case YUDVAV_TO_VAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.hiriq);
-						billetTokenList.get(1).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(0).addNikkud(Symbols.Hebrew.hiriq);
+						billetTokenList.get(1).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case NULL_TO_VAVVAV: {
 						if (Symbols.Hebrew.nikkudimContainsNonStressedO(referenceTokenList.get(0).nikkudim)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.holam);
-							billetTokenList.get(2).nikkudim.add(Symbols.Hebrew.holam);
-							if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh))
-								billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.dagesh);
-			            } else if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.dagesh);
-							billetTokenList.get(2).nikkudim.add(Symbols.Hebrew.dagesh);
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.holam);
+							billetTokenList.get(2).addNikkud(Symbols.Hebrew.holam);
+							if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh))
+								billetTokenList.get(0).addNikkud(Symbols.Hebrew.dagesh);
+			            } else if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh)) {
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.dagesh);
+							billetTokenList.get(2).addNikkud(Symbols.Hebrew.dagesh);
 			            }
 						break;
 					}
 					case VAV_TO_VAVVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case YUD_TO_VAVYUDYUD: {
 						if (Symbols.Hebrew.nikkudimContainsNonStressedO(referenceTokenList.get(0).nikkudim)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.holam);
-							if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh))
-								billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.dagesh);
-			            } else if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.dagesh);
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.holam);
+							if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh))
+								billetTokenList.get(0).addNikkud(Symbols.Hebrew.dagesh);
+			            } else if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh)) {
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.dagesh);
 			            }
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case YUD_TO_VAVYUD: {
 						if (Symbols.Hebrew.nikkudimContainsNonStressedO(referenceTokenList.get(0).nikkudim)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.holam);
-							if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh))
-								billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.dagesh);
-			            } else if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.dagesh);
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.holam);
+							if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh))
+								billetTokenList.get(0).addNikkud(Symbols.Hebrew.dagesh);
+			            } else if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh)) {
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.dagesh);
 			            }
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case YUDVAV_TO_VAVYUDVAV: {
 						if (Symbols.Hebrew.nikkudimContainsNonStressedO(referenceTokenList.get(0).nikkudim)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.holam);
-							if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh))
-								billetTokenList.get(0).nikkudim.add(Symbols.Hebrew.dagesh);
-			            } else if (referenceTokenList.get(0).nikkudim.contains(Symbols.Hebrew.dagesh)) {
-							billetTokenList.get(1).nikkudim.add(Symbols.Hebrew.dagesh);
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.holam);
+							if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh))
+								billetTokenList.get(0).addNikkud(Symbols.Hebrew.dagesh);
+			            } else if (NikkudSet.contains(referenceTokenList.get(0).nikkudim, Symbols.Hebrew.dagesh)) {
+							billetTokenList.get(1).addNikkud(Symbols.Hebrew.dagesh);
 			            }
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case YUDVAV_TO_VAVVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case VAV_TO_VAVVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
 						break;
 					}
 					case VAVYUDVAV_TO_VAVVAVYUDVAV: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
-						billetTokenList.get(4).nikkudim.addAll(referenceTokenList.get(3).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
+						billetTokenList.get(4).addNikkudim(referenceTokenList.get(3));
 						break;
 					}
 					case VAVYUDYUD_TO_VAVVAVYUDYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
-						billetTokenList.get(4).nikkudim.addAll(referenceTokenList.get(3).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
+						billetTokenList.get(4).addNikkudim(referenceTokenList.get(3));
 						break;
 					}
 					case VAVYUD_TO_VAVVAVYUDYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(4).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(4).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					case VAVVAVYUD_TO_VAVVAVYUDYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(1).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(3).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(1).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(2));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(3));
 						break;
 					}
 					case VAVYUD_TO_VAVVAVYUD: {
-						billetTokenList.get(0).nikkudim.addAll(referenceTokenList.get(0).nikkudim);
-						billetTokenList.get(2).nikkudim.addAll(referenceTokenList.get(1).nikkudim);
-						billetTokenList.get(3).nikkudim.addAll(referenceTokenList.get(2).nikkudim);
+						billetTokenList.get(0).addNikkudim(referenceTokenList.get(0));
+						billetTokenList.get(2).addNikkudim(referenceTokenList.get(1));
+						billetTokenList.get(3).addNikkudim(referenceTokenList.get(2));
 						break;
 					}
 					default: {
@@ -564,33 +979,64 @@ public class NikkudimSpreader {
 				}
 				
 				after = billetTokenList.toString();
-				afterAsTokenList = billetTokenList.toStringAsTokenList();
 			}
 		}
     	
+		// Same as comparing Symbols.Hebrew.removeDiacritics on the reference word with the billet word
+		private static boolean equalsWithoutDiacritics(Word reference, Word billet) {
+			char[] referenceChars = reference.chars();
+			char[] billetChars = billet.chars();
+			int j = billet.start();
+			int billetEnd = billet.end();
+			for (int i = reference.start(); i < reference.end(); i++) {
+				char ch = referenceChars[i];
+				if (ch == Symbols.Hebrew.geresh || ch == Symbols.Hebrew.abbreviation_gershayim) {
+					int apostrophes = ch == Symbols.Hebrew.geresh ? 1 : 2;
+					for (int k = 0; k < apostrophes; k++)
+						if (j == billetEnd || billetChars[j++] != Symbols.apostrophe)
+							return false;
+				} else if (!Symbols.Hebrew.isHebrewDiacritics(ch)) {
+					if (j == billetEnd || billetChars[j++] != ch)
+						return false;
+				}
+			}
+			
+			return j == billetEnd;
+		}
+    	
 		private String getMetaData() {
     		StringBuilder builder = new StringBuilder();
     		builder.append(reason.name());
     		
     		builder.append(" | before: \"");
-    		builder.append(before);
+    		builder.append(billet.toOriginalString(false));
     		builder.append("\" (");
-    		builder.append(beforeAsTokenList);
+    		builder.append(billet.toOriginalString(true));
     		builder.append(")");
     		
     		builder.append(" | after: \"");
     		builder.append(after);
     		builder.append("\" (");
-    		builder.append(afterAsTokenList);
+    		builder.append(getAfterAsTokenList());
     		builder.append(")");
     		
     		builder.append(" | reference: \"");
     		builder.append(reference);
     		builder.append("\" (");
-    		builder.append(referenceAsTokenList);
+    		builder.append(reference.toStringAsTokenList());
     		builder.append(")");
     		
     		return builder.toString();
     	}
+		
+		// A regular change copies the reference word as a whole, and an unmatched one leaves nothing
+		private String getAfterAsTokenList() {
+			if (after == null)
+				return null;
+			if (reason == ChangeReason.REGULAR)
+				return reference.toStringAsToken();
+			
+			return billet.toStringAsTokenList();
+		}
 	}
-}
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+
+/*
+ * Vocalized references found by the unvocalized billets they can be spread to.
+ *
+ * Both are keyed by a skeleton made the way NikkudimSpreader splits words: a word counts only with its
+ * first letter, so the vavs and yuds the spreader adds or drops after it, as well as the diacritics,
+ * make no difference. The skeleton is hashed to a long in the same pass and kept in an open addressing
+ * table, whose slots start chains of references with an equal hash.
+ */
+public final class SkeletonIndex {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String[] references;
+    private final int[] next;
+    private final long[] keys;
+    private final int[] heads;
+    private final int mask;
+
+    public SkeletonIndex(Collection<String> references) {
+        Objects.requireNonNull(references, "References cannot be null");
+
+        this.references = references.toArray(new String[0]);
+        this.next = new int[this.references.length];
+
+        int capacity = Integer.highestOneBit(Math.max(2, this.references.length) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.heads = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(heads, -1);
+
+        // Added back to front so that every chain keeps the order of the references
+        for (int i = this.references.length - 1; i >= 0; i--) {
+            long key = skeletonHash(Objects.requireNonNull(this.references[i], "Reference cannot be null"));
+            int slot = slot(key);
+            if (heads[slot] < 0)
+                keys[slot] = key;
+            next[i] = heads[slot];
+            heads[slot] = i;
+        }
+    }
+
+    public int size() {
+        return references.length;
+    }
+
+    public List<String> getCandidates(String billet) {
+        Objects.requireNonNull(billet, "Billet cannot be null");
+
+        List<String> candidates = new ArrayList<>(2);
+        int slot = slot(skeletonHash(billet));
+        for (int i = heads[slot]; i >= 0; i = next[i])
+            candidates.add(references[i]);
+
+        return candidates;
+    }
+
+    // Spreads the first candidate that fits, or tells why the last one did not
+    public NikkudimSpreader.Outcome spread(String billet) {
+        Objects.requireNonNull(billet, "Billet cannot be null");
+
+        NikkudimSpreader.Outcome outcome = NikkudimSpreader.Outcome.NO_REFERENCE;
+        int slot = slot(skeletonHash(billet));
+        for (int i = heads[slot]; i >= 0; i = next[i]) {
+            outcome = NikkudimSpreader.trySpread(references[i], billet);
+            if (outcome.isSuccess())
+                break;
+        }
+
+        return outcome;
+    }
+
+    private int slot(long key) {
+        int slot = (int) key & mask;
+        while (heads[slot] >= 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+    /*
+     * Abbreviation marks, hyphens and word boundaries are read as NikkudimSpreader reads them. A vav or
+     * a yud right after a letter and its marks belongs to the word of that letter and is left out.
+     */
+    static long skeletonHash(CharSequence text) {
+        long hash = FNV_OFFSET_BASIS;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+
+            if ((ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe) && i + 1 < text.length() && text.charAt(i + 1) == ch) {
+                ch = Symbols.dot;
+                i++;
+            } else if (ch == Symbols.Hebrew.abbreviation_quotation_mark || ch == Symbols.Hebrew.abbreviation_gershayim) {
+                ch = Symbols.dot;
+            } else if (ch == Symbols.hyphen) {
+                ch = Symbols.Hebrew.maqaf;
+            }
+
+            if (Symbols.Hebrew.isHebrewLetter(ch)) {
+                if (inWord && (ch == 'ו' || ch == 'י'))
+                    continue;
+                inWord = true;
+            } else if (Symbols.Hebrew.isHebrewDiacritics(ch) || ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe) {
+                continue;
+            } else {
+                inWord = false;
+                if (ch != Symbols.space && ch != Symbols.dot && ch != Symbols.Hebrew.maqaf && !Character.isDigit(ch))
+                    continue;
+            }
+
+            hash = (hash ^ ch) * FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ hash >>> 33;
+    }
+}
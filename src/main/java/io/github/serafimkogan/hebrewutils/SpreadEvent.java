@@ -0,0 +1,98 @@
+package io.github.serafimkogan.hebrewutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+
+/*
+ * Flight Recorder event of one spread. The reason mix is only put together for events that are
+ * committed.
+ */
+@Name("io.github.serafimkogan.hebrewutils.Spread")
+@Label("Nikkudim Spread")
+@Category("Hebrew Utils")
+@Description("Spreading of the diacritics of a reference over a billet")
+@Threshold("10 ms")
+@StackTrace(false)
+final class SpreadEvent extends jdk.jfr.Event {
+    // Whether a recording takes the event is kept for the class, so one instance answers for all
+    private static final SpreadEvent PROBE = new SpreadEvent();
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Word Count")
+    int wordCount;
+
+    @Label("Change Reasons")
+    String changeReasons;
+
+    @Label("Fallback Count")
+    @Description("Words that matched no rule")
+    int fallbackCount;
+
+    @Label("Failure")
+    String failure;
+
+    @Label("Failed Word")
+    int failedWord;
+
+    // Counts of the reasons as "REASON=count" pairs in the order of ChangeReason
+    private static String describe(NikkudimSpreader.ChangeReason[] reasons) {
+        int[] counts = new int[NikkudimSpreader.ChangeReason.values().length];
+        for (NikkudimSpreader.ChangeReason reason : reasons)
+            counts[reason.ordinal()]++;
+
+        StringBuilder builder = new StringBuilder();
+        for (NikkudimSpreader.ChangeReason reason : NikkudimSpreader.ChangeReason.values()) {
+            if (counts[reason.ordinal()] == 0)
+                continue;
+            if (builder.length() > 0)
+                builder.append(Symbols.space);
+            builder.append(reason.name()).append('=').append(counts[reason.ordinal()]);
+        }
+
+        return builder.toString();
+    }
+
+    // A begun event while a recording takes it, otherwise null and nothing is allocated
+    static SpreadEvent beginIfEnabled() {
+        if (!PROBE.isEnabled())
+            return null;
+
+        SpreadEvent event = new SpreadEvent();
+        event.begin();
+        return event;
+    }
+
+    void commit(int inputLength, NikkudimSpreader.ChangeReason[] reasons, NikkudimSpreader.Failure failure,
+            int failedWord) {
+        end();
+        if (!shouldCommit())
+            return;
+
+        this.inputLength = inputLength;
+        this.failedWord = failedWord;
+        if (failure == null) {
+            this.wordCount = reasons.length;
+            this.fallbackCount = count(reasons, NikkudimSpreader.ChangeReason.OTHER);
+            this.changeReasons = describe(reasons);
+        } else {
+            this.failure = failure.name();
+        }
+        commit();
+    }
+
+    private static int count(NikkudimSpreader.ChangeReason[] reasons, NikkudimSpreader.ChangeReason reason) {
+        int count = 0;
+        for (NikkudimSpreader.ChangeReason other : reasons)
+            if (other == reason)
+                count++;
+
+        return count;
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.serafimkogan.hebrewutils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Objects;
 
 public class Symbols {
 	public static final char hyphen = '-';
@@ -119,6 +122,9 @@ public class Symbols {
 	    public static final String vav_vav = "וו";
 	    public static final String yud_yud = "יי";
 	    public static final String yud_vav = "יו";
+
+	    public static final long non_stressed_o_nikkudim = NikkudSet.of(tsere, sheva, holam, upper_dot_1, upper_dot_2,
+	    		qamats_katan, hataf_qamats, qubuts, qamats, hataf_patah, patah, segol, hataf_segol);
 	    
 		public static boolean isHebrewDiacritics(char c) {
 	    	return (c >= etnahta && c <= qarney_para
@@ -131,49 +137,137 @@ public class Symbols {
 	    }
 		
 		public static String removeDiacritics(String string) {
-	        StringBuilder stringBuilder = new StringBuilder();
-
-	        stringBuilder.append(string);
-	        
-	        for (int i = 0; i < stringBuilder.length(); i++) {
-	        	if (stringBuilder.charAt(i) == geresh) {
-	        		stringBuilder.setCharAt(i, apostrophe);
-	        		continue;
-	        	}
-	        	if (stringBuilder.charAt(i) == abbreviation_gershayim) {
-	        		stringBuilder.setCharAt(i, apostrophe);
-	        		stringBuilder.insert(i + 1, apostrophe);
-	        		i++;
-	        		continue;
-	        	}
-	        	if ((stringBuilder.charAt(i) >= etnahta && stringBuilder.charAt(i) <= qarney_para
-	        			|| stringBuilder.charAt(i) >= telisha_gedola && stringBuilder.charAt(i) <= qamats_katan)
-	        			&& stringBuilder.charAt(i) != maqaf) {
-	        		stringBuilder.deleteCharAt(i);
-	        		i--;
-	        		continue;
-	        	}
+	        StringBuilder stringBuilder = new StringBuilder(string.length());
+	        try {
+	        	removeDiacritics(string, stringBuilder);
+	        } catch (IOException e) {
+	        	throw new UncheckedIOException(e);
 	        }
 
 	        return stringBuilder.toString();
 	    }
+
+		public static int removeDiacritics(CharSequence source, Appendable out) throws IOException {
+			return removeDiacritics(source, 0, source.length(), out);
+		}
+
+		// Copies the runs between marks as they are and returns the number of chars appended
+		public static int removeDiacritics(CharSequence source, int start, int end, Appendable out) throws IOException {
+			Objects.checkFromToIndex(start, end, source.length());
+
+			int length = 0;
+			int runStart = start;
+			for (int i = HebrewCharClass.indexOf(source, start, end, HebrewCharClass.REMOVED); i < end;
+					i = HebrewCharClass.indexOf(source, i + 1, end, HebrewCharClass.REMOVED)) {
+				char ch = source.charAt(i);
+				out.append(source, runStart, i);
+				length += i - runStart;
+				runStart = i + 1;
+
+				if (ch == geresh) {
+					out.append(apostrophe);
+					length++;
+				} else if (ch == abbreviation_gershayim) {
+					out.append(apostrophe).append(apostrophe);
+					length += 2;
+				}
+			}
+
+			out.append(source, runStart, end);
+			return length + end - runStart;
+		}
+
+		public static int removeDiacritics(char[] src, int off, int len, StringBuilder out) {
+			Objects.checkFromIndexSize(off, len, src.length);
+
+			int length = 0;
+			int runStart = off;
+			for (int i = HebrewCharClass.indexOf(src, off, off + len, HebrewCharClass.REMOVED); i < off + len;
+					i = HebrewCharClass.indexOf(src, i + 1, off + len, HebrewCharClass.REMOVED)) {
+				char ch = src[i];
+				out.append(src, runStart, i - runStart);
+				length += i - runStart;
+				runStart = i + 1;
+
+				if (ch == geresh) {
+					out.append(apostrophe);
+					length++;
+				} else if (ch == abbreviation_gershayim) {
+					out.append(apostrophe).append(apostrophe);
+					length += 2;
+				}
+			}
+
+			out.append(src, runStart, off + len - runStart);
+			return length + off + len - runStart;
+		}
+
+		public static int removeDiacritics(char[] src, int off, int len, char[] dst) {
+			return removeDiacritics(src, off, len, dst, 0);
+		}
+
+		// dst has to fit up to twice len chars after dstOff, since each gershayim becomes two apostrophes
+		public static int removeDiacritics(char[] src, int off, int len, char[] dst, int dstOff) {
+			Objects.checkFromIndexSize(off, len, src.length);
+
+			int length = dstOff;
+			int runStart = off;
+			for (int i = HebrewCharClass.indexOf(src, off, off + len, HebrewCharClass.REMOVED); i < off + len;
+					i = HebrewCharClass.indexOf(src, i + 1, off + len, HebrewCharClass.REMOVED)) {
+				System.arraycopy(src, runStart, dst, length, i - runStart);
+				length += i - runStart;
+				runStart = i + 1;
+
+				char ch = src[i];
+				if (ch == geresh) {
+					dst[length++] = apostrophe;
+				} else if (ch == abbreviation_gershayim) {
+					dst[length++] = apostrophe;
+					dst[length++] = apostrophe;
+				}
+			}
+
+			System.arraycopy(src, runStart, dst, length, off + len - runStart);
+			return length + off + len - runStart - dstOff;
+		}
+
+		// The first Hebrew letter from start up to end, or -1
+		public static int indexOfHebrewLetter(CharSequence source, int start, int end) {
+			Objects.checkFromToIndex(start, end, source.length());
+
+			int index = HebrewCharClass.indexOf(source, start, end, HebrewCharClass.LETTER);
+			return index < end ? index : -1;
+		}
+
+		public static int indexOfHebrewLetter(char[] src, int off, int len) {
+			Objects.checkFromIndexSize(off, len, src.length);
+
+			int index = HebrewCharClass.indexOf(src, off, off + len, HebrewCharClass.LETTER);
+			return index < off + len ? index : -1;
+		}
+
+		// Whether the range holds any diacritics, that is, whether removeDiacritics would change it
+		public static boolean containsDiacritics(CharSequence source, int start, int end) {
+			Objects.checkFromToIndex(start, end, source.length());
+
+			return HebrewCharClass.indexOf(source, start, end, HebrewCharClass.REMOVED) < end;
+		}
+
+		public static boolean containsDiacritics(char[] src, int off, int len) {
+			Objects.checkFromIndexSize(off, len, src.length);
+
+			return HebrewCharClass.indexOf(src, off, off + len, HebrewCharClass.REMOVED) < off + len;
+		}
 		
 		public static boolean nikkudimContainsNonStressedO(List<Character> nikkudim) {
-			if (nikkudim.contains(Symbols.Hebrew.tsere)
-					|| nikkudim.contains(Symbols.Hebrew.sheva)
-					|| nikkudim.contains(Symbols.Hebrew.holam)
-                    || nikkudim.contains(Symbols.Hebrew.upper_dot_1)
-                    || nikkudim.contains(Symbols.Hebrew.upper_dot_2)
-                    || nikkudim.contains(Symbols.Hebrew.qamats_katan)
-                    || nikkudim.contains(Symbols.Hebrew.hataf_qamats)
-                    || nikkudim.contains(Symbols.Hebrew.qubuts)
-                    || nikkudim.contains(Symbols.Hebrew.qamats)
-                    || nikkudim.contains(Symbols.Hebrew.hataf_patah)
-                    || nikkudim.contains(Symbols.Hebrew.patah)
-                    || nikkudim.contains(Symbols.Hebrew.segol)
-                    || nikkudim.contains(Symbols.Hebrew.hataf_segol))
-				return true;
+			for (char nikkud : nikkudim)
+				if (NikkudSet.contains(non_stressed_o_nikkudim, nikkud))
+					return true;
 			return false;
 		}
+
+		public static boolean nikkudimContainsNonStressedO(long nikkudim) {
+			return NikkudSet.containsAny(nikkudim, non_stressed_o_nikkudim);
+		}
 	}
 }
@@ -0,0 +1,58 @@
+package io.github.serafimkogan.hebrewutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+
+/*
+ * Flight Recorder event of one transliteration. Without a recording that takes it no event is created;
+ * the threshold and stack traces are set by the recording settings, see hebrew-utils.jfc.
+ */
+@Name("io.github.serafimkogan.hebrewutils.Transliteration")
+@Label("Transliteration")
+@Category("Hebrew Utils")
+@Description("Transliteration of vocalized Hebrew into Cyrillic")
+@Threshold("10 ms")
+@StackTrace(false)
+final class TransliterationEvent extends jdk.jfr.Event {
+    // Whether a recording takes the event is kept for the class, so one instance answers for all
+    private static final TransliterationEvent PROBE = new TransliterationEvent();
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Token Count")
+    int tokenCount;
+
+    @Label("Cached")
+    boolean cached;
+
+    @Label("Streamed")
+    boolean streamed;
+
+    // A begun event while a recording takes it, otherwise null and nothing is allocated
+    static TransliterationEvent beginIfEnabled() {
+        if (!PROBE.isEnabled())
+            return null;
+
+        TransliterationEvent event = new TransliterationEvent();
+        event.begin();
+        return event;
+    }
+
+    void commit(int inputLength, int tokenCount, boolean cached, boolean streamed) {
+        end();
+        if (!shouldCommit())
+            return;
+
+        this.inputLength = inputLength;
+        this.tokenCount = tokenCount;
+        this.cached = cached;
+        this.streamed = streamed;
+        commit();
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.serafimkogan.hebrewutils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+
+/*
+ * UTF-8 coding for CyrillizerUtf8Engine, without Strings or charset coders. Malformed input decodes to
+ * U+FFFD the way String does: a sequence that breaks off is replaced as far as its longest valid
+ * beginning goes, and at least its lead byte.
+ */
+final class Utf8 {
+    static final char REPLACEMENT = '\uFFFD';
+
+    private Utf8() {
+    }
+
+    /*
+     * Returns the code point of the sequence at the position, or REPLACEMENT, in the low bits and the
+     * number of bytes it takes in the high byte.
+     */
+    static int decodeSequence(ByteBuffer in, int position, int limit) {
+        int lead = in.get(position) & 0xff;
+        if (lead < 0x80)
+            return 1 << 24 | lead;
+
+        int size;
+        int codePoint;
+        int min;
+        int max;
+        if (lead >= 0xc2 && lead <= 0xdf) {
+            size = 2;
+            codePoint = lead & 0x1f;
+            min = 0x80;
+            max = 0xbf;
+        } else if (lead >= 0xe0 && lead <= 0xef) {
+            size = 3;
+            codePoint = lead & 0x0f;
+            min = lead == 0xe0 ? 0xa0 : 0x80;
+            max = lead == 0xed ? 0x9f : 0xbf;
+        } else if (lead >= 0xf0 && lead <= 0xf4) {
+            size = 4;
+            codePoint = lead & 0x07;
+            min = lead == 0xf0 ? 0x90 : 0x80;
+            max = lead == 0xf4 ? 0x8f : 0xbf;
+        } else {
+            return 1 << 24 | REPLACEMENT;
+        }
+
+        for (int i = 1; i < size; i++) {
+            int b = position + i < limit ? in.get(position + i) & 0xff : -1;
+            if (i == 1 ? b < min || b > max : (b & 0xc0) != 0x80)
+                return i << 24 | REPLACEMENT;
+            codePoint = codePoint << 6 | b & 0x3f;
+        }
+
+        return size << 24 | codePoint;
+    }
+
+    static int codePoint(int sequence) {
+        return sequence & 0xffffff;
+    }
+
+    static int length(int sequence) {
+        return sequence >>> 24;
+    }
+
+    // The bytes from up to to never make more chars than there are bytes, so the array is not grown
+    static CharBuffer decode(ByteBuffer in, int from, int to) {
+        char[] chars = new char[to - from];
+        int count = 0;
+        int position = from;
+        while (position < to) {
+            byte lead = in.get(position);
+            if (lead >= 0) {
+                chars[count++] = (char) lead;
+                position++;
+                continue;
+            }
+
+            int sequence = decodeSequence(in, position, to);
+            int codePoint = codePoint(sequence);
+            if (Character.isBmpCodePoint(codePoint)) {
+                chars[count++] = (char) codePoint;
+            } else {
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+            position += length(sequence);
+        }
+
+        return CharBuffer.wrap(chars, 0, count);
+    }
+
+    /*
+     * Encodes chars into the buffer if there is one, or into a byte array grown as needed. A surrogate,
+     * which a transliteration never has, is written as '?' the way String does.
+     */
+    static final class Output {
+        private final ByteBuffer buffer;
+        private byte[] bytes;
+        private int length;
+
+        Output(int capacity) {
+            this.buffer = null;
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        Output(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void put(char ch) {
+            if (ch < 0x80) {
+                put((byte) ch);
+            } else if (ch < 0x800) {
+                put((byte) (0xc0 | ch >> 6));
+                put((byte) (0x80 | ch & 0x3f));
+            } else if (Character.isSurrogate(ch)) {
+                put((byte) '?');
+            } else {
+                put((byte) (0xe0 | ch >> 12));
+                put((byte) (0x80 | ch >> 6 & 0x3f));
+                put((byte) (0x80 | ch & 0x3f));
+            }
+        }
+
+        private void put(byte b) {
+            if (buffer != null) {
+                buffer.put(b);
+                return;
+            }
+
+            if (length == bytes.length)
+                bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = b;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillicRewriterTest {
+
+	@Test
+	public void shouldBeTrue1() {
+		String source = "мицраиа раиа раиам";
+		String expectedResult = "мицрая рая раиам";
+		String realResult = CyrillicRewriter.INSTANCE.rewrite(source);
+		assertEquals(expectedResult, realResult);
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		String source = "лэиа ойайа аиоио";
+		String expectedResult = "люя ояя аёё";
+		String realResult = CyrillicRewriter.INSTANCE.rewrite(source);
+		assertEquals(expectedResult, realResult);
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		String source = "луо лйо ла лэ";
+		String expectedResult = "лё лё ля ле";
+		String realResult = CyrillicRewriter.INSTANCE.rewrite(source);
+		assertEquals(expectedResult, realResult);
+	}
+}
@@ -0,0 +1,71 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillicTrieTest {
+	private static final List<String> WORDS = Arrays.asList("שָׁלוֹם", "לֶחֶם", "שְׁלוֹמִי", "סְפָרִים", "עֲבֹדָתָם", 
+			"שָׁלוֹם", "יָם", "סַפָּר");
+
+    @Test
+    public void shouldThrowIllegalArgumentException() {
+		CyrillicTrie trie = CyrillicTrie.build(WORDS);
+
+		assertThrows(IllegalArgumentException.class, () -> trie.search("шалом", -1, 10));
+		assertThrows(IllegalArgumentException.class, () -> trie.prefixSearch("ша", -1));
+    }
+
+    @Test
+    public void shouldThrowIOException() {
+		assertThrows(IOException.class, () -> CyrillicTrie.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		CyrillicTrie trie = CyrillicTrie.build(WORDS);
+
+		assertEquals(8, trie.size());
+		assertArrayEquals(new int[] {0, 5}, trie.prefixSearch("шалом", 10));
+		assertArrayEquals(new int[] {0, 5}, trie.prefixSearch("ШАЛЁ", 10));
+		assertArrayEquals(new int[] {7, 3}, trie.prefixSearch("с", 10));
+		assertArrayEquals(new int[] {7}, trie.prefixSearch("с", 1));
+		assertArrayEquals(new int[0], trie.prefixSearch("шалп", 10));
+		assertEquals(8, trie.prefixSearch("", 100).length);
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		CyrillicTrie trie = CyrillicTrie.build(WORDS);
+
+		assertArrayEquals(new int[] {1}, trie.search("лэхэм", 0, 10));
+		assertArrayEquals(new int[] {1}, trie.search("лехем", 0, 10));
+		assertArrayEquals(new int[] {6}, trie.search("йам", 0, 10));
+		assertArrayEquals(new int[] {6}, trie.search("ям", 0, 10));
+		assertArrayEquals(new int[0], trie.search("шолом", 0, 10));
+		assertArrayEquals(new int[] {0, 5}, trie.search("шолом", 1, 10));
+		assertArrayEquals(new int[] {0, 5, 2}, trie.search("шолом", 3, 10));
+		assertArrayEquals(new int[] {0}, trie.search("шолом", 3, 1));
+	}
+
+	@Test
+	public void shouldBeTrue3() throws IOException {
+		CyrillicTrie trie = CyrillicTrie.build(WORDS);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		trie.writeTo(out);
+		CyrillicTrie copy = CyrillicTrie.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(trie.size(), copy.size());
+		assertArrayEquals(trie.prefixSearch("", 100), copy.prefixSearch("", 100));
+		assertArrayEquals(trie.search("сфарим", 2, 10), copy.search("сфарим", 2, 10));
+	}
+}
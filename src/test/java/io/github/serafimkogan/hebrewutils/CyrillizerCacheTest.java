@@ -0,0 +1,92 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillizerCacheTest {
+
+    @Test
+    public void shouldThrowIllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> new CyrillizerCache(0));
+    }
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> new CyrillizerEngine(null));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		CyrillizerCache cache = new CyrillizerCache(100);
+		CyrillizerEngine engine = new CyrillizerEngine(cache);
+		String source = "אֵת כָּל עֲבֹדָתָם אֲשֶׁר עָבְדוּ בָהֶם בְּפָרֶך";
+
+		assertEquals("эт каль аводатам ашэр авду ваhэм бэфарэх", engine.transliterate(source));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(7, cache.getMissCount());
+
+		assertEquals("эт каль аводатам ашэр авду ваhэм бэфарэх", engine.transliterate(source));
+		assertEquals(7, cache.getHitCount());
+		assertEquals(0.5, cache.getHitRate());
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		CyrillizerEngine engine = new CyrillizerEngine(new CyrillizerCache(100));
+		String[] sources = {
+				"הִיא אָמְרָה הִיא",
+				"וְהִיא הִיא",
+				"יוֹם יוֹם סְתָו יו",
+				"סְתָו",
+				"[וְנָתַתִּי אֶת־חֵן הָעָם־הַזֶּה בְּעֵינֵי מִצְרָיִם]",
+				"  מִיַּלְדֵי הָעִבְרִים  זֶה "
+		};
+
+		for (int i = 0; i < 3; i++)
+			for (String source : sources)
+				assertEquals(new Cyrillizer(source).getResult(), engine.transliterate(source));
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		CyrillizerCache cache = new CyrillizerCache(3);
+		CyrillizerEngine engine = new CyrillizerEngine(cache);
+
+		for (int i = 0; i < 50; i++)
+			engine.transliterate("אֵת כָּל עֲבֹדָתָם אֲשֶׁר עָבְדוּ בָהֶם בְּפָרֶך");
+
+		assertEquals(3, cache.getSize());
+	}
+
+	@Test
+	public void shouldBeTrue4() {
+		CyrillizerCache cache = new CyrillizerCache(100);
+		cache.warmUp(List.of("אֵת", "כָּל", "אֲשֶׁר")).join();
+
+		assertEquals(3, cache.getSize());
+		assertEquals("эт каль ашэр", new CyrillizerEngine(cache).transliterate("אֵת כָּל אֲשֶׁר"));
+		assertEquals(3, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void shouldBeTrue5() {
+		CyrillizerCache cache = new CyrillizerCache(100);
+		CyrillizerEngine engine = new CyrillizerEngine(cache);
+		String lines = "שָׁלוֹם\nעוֹלָם\n".repeat(20) + "שָׁלוֹם";
+		String source = "אֵת " + lines + " כָּל";
+
+		assertEquals(new Cyrillizer(source).getResult(), engine.transliterate(source));
+		assertEquals(new Cyrillizer(source).getResult(), engine.transliterate(source));
+		assertEquals(2, cache.getSize());
+		assertEquals(2, cache.getHitCount());
+
+		cache.warmUp(List.of(lines, "אֲשֶׁר")).join();
+		assertEquals(3, cache.getSize());
+	}
+}
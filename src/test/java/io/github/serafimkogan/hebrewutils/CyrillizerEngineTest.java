@@ -0,0 +1,222 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillizerEngineTest {
+	private static final CyrillizerEngine ENGINE = new CyrillizerEngine();
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> ENGINE.transliterate(null));
+    }
+
+    @Test
+    public void shouldThrowIndexOutOfBoundsException() {
+		assertThrows(IndexOutOfBoundsException.class, () -> ENGINE.transliterate("חֲתוּלָה", 3, 20, new StringBuilder()));
+    }
+
+	@Test
+	public void shouldBeTrue1() throws IOException {
+		String source = "אֵת כָּל עֲבֹדָתָם אֲשֶׁר עָבְדוּ בָהֶם בְּפָרֶך";
+		String expectedResult = "эт каль аводатам ашэр авду ваhэм бэфарэх";
+		StringWriter writer = new StringWriter();
+		ENGINE.transliterate(source, writer);
+		assertEquals(expectedResult, writer.toString());
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		String source = "[וְנָתַתִּי אֶת־חֵן הָעָם־הַזֶּה בְּעֵינֵי מִצְרָיִם]";
+		String expectedResult = "> вэнатати эт хэн hаам hазэ бээинэи мицраим";
+		StringBuilder builder = new StringBuilder("> ");
+		ENGINE.transliterate(source, 1, source.length() - 1, builder);
+		assertEquals(expectedResult, builder.toString());
+	}
+
+	@Test
+	public void shouldBeTrue3() throws Exception {
+		String[] sources = {
+				"רַבִּי עֲקִיבָא אוֹמֵר, שְׂחוֹק וְקַלּוּת רֹאשׁ, מַרְגִּילִין לְעֶרְוָה",
+				"לְנֶפֶשׁ לֹא־יִטַּמָּא בְּעַמָּיו",
+				"נַפְשׁוֹ גֶּחָלִים תְּלַהֵט וְלַהַב מִפִּיו יֵצֵא׃",
+				"מַה־טֹּבוּ אֹהָלֶיךָ יַעֲקֹב מִשְׁכְּנֹתֶיךָ יִשְׂרָאֵל׃"
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < 400; i++) {
+				String source = sources[i % sources.length];
+				futures.add(executor.submit(() -> ENGINE.transliterate(source)));
+			}
+
+			for (int i = 0; i < futures.size(); i++)
+				assertEquals(new Cyrillizer(sources[i % sources.length]).getResult(), futures.get(i).get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldBeTrue4() throws IOException {
+		String source = String.join(" ", Collections.nCopies(2000,
+				"וַיִּקְרָא אֱלֹהִים לָאוֹר יוֹם וְלַחֹשֶׁךְ קָרָא לָיְלָה וַיְהִי־עֶרֶב וַיְהִי־בֹקֶר יוֹם אֶחָד׃"));
+		StringWriter writer = new StringWriter();
+		int[] writtenBeforeEnd = new int[1];
+		Reader reader = new StringReader("  " + source + "\n") {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				int read = super.read(buffer, offset, Math.min(length, 7));
+				if (read == -1)
+					writtenBeforeEnd[0] = writer.getBuffer().length();
+				return read;
+			}
+		};
+
+		ENGINE.transliterate(reader, writer);
+
+		assertEquals(new Cyrillizer(source).getResult(), writer.toString());
+		assertTrue(writtenBeforeEnd[0] > 0);
+	}
+
+	@Test
+	public void shouldBeTrue5() throws IOException {
+		String source = "סְתָו יָפֶה־מְאֹד ייו  ווי 1948 צה״ל";
+		StringWriter writer = new StringWriter();
+		ENGINE.transliterate(new StringReader(source), writer);
+		assertEquals(new Cyrillizer(source).getResult(), writer.toString());
+	}
+
+	@Test
+	public void shouldBeTrue6() {
+		String[] words = "אֵת כָּל עֲבֹדָתָם אֲשֶׁר עָבְדוּ בָהֶם בְּפָרֶך סְתָו צה״ל 1948".split(" ");
+		String[] sources = new String[10000];
+		for (int i = 0; i < sources.length; i++)
+			sources[i] = words[i % words.length];
+
+		String[] results = ENGINE.transliterateAll(sources);
+
+		assertEquals(sources.length, results.length);
+		for (int i = 0; i < sources.length; i++)
+			assertEquals(new Cyrillizer(sources[i]).getResult(), results[i]);
+	}
+
+	@Test
+	public void shouldBeTrue7() {
+		List<String> sources = List.of("אֵת", "כָּל", "עֲבֹדָתָם");
+		assertEquals(List.of("эт", "каль", "аводатам"), ENGINE.transliterateAll(sources));
+	}
+
+	@Test
+	public void shouldThrowNullPointerException2() {
+		assertThrows(NullPointerException.class, () -> ENGINE.transliterateAll(new String[] {"אֵת", null}));
+	}
+
+	@Test
+	public void shouldBeTrue8() {
+		String source = "[אֵת כָּל עֲבֹדָתָם צה״ל]";
+		String expectedResult = new Cyrillizer(source.substring(1, source.length() - 1)).getResult();
+
+		StringBuilder builder = new StringBuilder("> ");
+		ENGINE.transliterate(source.toCharArray(), 1, source.length() - 2, builder);
+		assertEquals("> " + expectedResult, builder.toString());
+
+		char[] out = new char[expectedResult.length() + 4];
+		int length = ENGINE.transliterate(source, 1, source.length() - 1, out, 2);
+		assertEquals(expectedResult, new String(out, 2, length));
+
+		length = ENGINE.transliterate(source.toCharArray(), 1, source.length() - 2, out, 4);
+		assertEquals(expectedResult, new String(out, 4, length));
+	}
+
+	@Test
+	public void shouldThrowIndexOutOfBoundsException2() {
+		char[] source = "אֵת כָּל".toCharArray();
+
+		assertThrows(IndexOutOfBoundsException.class, () -> ENGINE.transliterate(source, 2, source.length, new StringBuilder()));
+		assertThrows(IndexOutOfBoundsException.class, () -> ENGINE.transliterate("אֵת כָּל", 3, 1, new char[16], 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> ENGINE.transliterate(source, 0, source.length, new char[4], 0));
+	}
+
+	@Test
+	public void shouldBeTrue9() throws IOException {
+		String[] patterns = {"Lorem ipsum, dolor sit amet 1948. ", "שָׁלוֹם, עוֹלָם! ", "0123456789"};
+		for (String pattern : patterns) {
+			String source = pattern.repeat(20000);
+			StringWriter writer = new StringWriter();
+			ENGINE.transliterate(new PatternReader(pattern, source.length()), writer);
+			assertEquals(ENGINE.transliterate(source), writer.toString());
+		}
+	}
+
+	@Test
+	public void shouldBeTrue10() throws IOException {
+		for (String pattern : new String[] {"Lorem ipsum, dolor sit amet. ", "0123456789"}) {
+			PatternReader reader = new PatternReader(pattern, 10_000_000);
+			long[] readBeforeOutput = new long[1];
+			ENGINE.transliterate(reader, new Writer() {
+				@Override
+				public void write(char[] buffer, int offset, int length) {
+					if (readBeforeOutput[0] == 0)
+						readBeforeOutput[0] = reader.position;
+				}
+
+				@Override
+				public void flush() {
+				}
+
+				@Override
+				public void close() {
+				}
+			});
+
+			assertTrue(readBeforeOutput[0] > 0 && readBeforeOutput[0] < 1_000_000);
+		}
+	}
+
+	// The pattern over and over up to the length, without holding the text
+	private static final class PatternReader extends Reader {
+		private final String pattern;
+		private final long length;
+		private long position;
+
+		private PatternReader(String pattern, long length) {
+			this.pattern = pattern;
+			this.length = length;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int count) {
+			if (position == length)
+				return -1;
+
+			int read = (int) Math.min(count, length - position);
+			for (int i = 0; i < read; i++)
+				buffer[offset + i] = pattern.charAt((int) ((position + i) % pattern.length()));
+			position += read;
+
+			return read;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+public class CyrillizerIndexTest {
+	private static final List<String> WORDS = Arrays.asList("שָׁלוֹם", "עֲבֹדָתָם", "סְפָרִים", "סְפָרִים", "סַפָּרִים", 
+			"רִגּוּל", "תַּעֲשִׂיָּתִי", "אֲבוֹתַי", "ג'ירפה", "123");
+
+	@TempDir
+	Path directory;
+
+    @Test
+    public void shouldThrowIOException() throws IOException {
+		Path file = directory.resolve("words.idx");
+		Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+		assertThrows(IOException.class, () -> CyrillizerIndex.open(file));
+    }
+
+    @Test
+    public void shouldThrowIOException2() throws IOException {
+		Path file = directory.resolve("words.idx");
+		CyrillizerIndex.build(WORDS, file);
+		byte[] bytes = Files.readAllBytes(file);
+
+		for (int length : new int[] {16, 12 + 8 * 9 - 1, 12 + 8 * 9 + 5, bytes.length - 1}) {
+			Path truncated = directory.resolve("truncated.idx");
+			Files.write(truncated, Arrays.copyOf(bytes, length));
+			assertThrows(IOException.class, () -> CyrillizerIndex.open(truncated));
+		}
+
+		Path extended = directory.resolve("extended.idx");
+		Files.write(extended, Arrays.copyOf(bytes, bytes.length + 1));
+		assertThrows(IOException.class, () -> CyrillizerIndex.open(extended));
+
+		ByteBuffer.wrap(bytes).putInt(8, Integer.MAX_VALUE);
+		Files.write(file, bytes);
+		assertThrows(IOException.class, () -> CyrillizerIndex.open(file));
+    }
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> CyrillizerIndex.build(Arrays.asList("שָׁלוֹם", null), directory.resolve("words.idx")));
+    }
+
+	@Test
+	public void shouldBeTrue1() throws IOException {
+		Path file = directory.resolve("words.idx");
+		CyrillizerIndex.build(WORDS, file);
+		CyrillizerCache cache = new CyrillizerCache(10);
+		CyrillizerIndex index = CyrillizerIndex.open(file, new CyrillizerEngine(cache));
+
+		assertEquals(9, index.size());
+		for (String word : WORDS)
+			assertEquals(new Cyrillizer(word).getResult(), index.lookup(word));
+		assertEquals(0, cache.getMissCount());
+
+		assertEquals(new Cyrillizer("אֶרֶץ").getResult(), index.lookup("אֶרֶץ"));
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void shouldBeTrue2() throws IOException {
+		Path file = directory.resolve("words.idx");
+		CyrillizerIndex.build(WORDS, file);
+		CyrillizerIndex index = CyrillizerIndex.open(file);
+
+		assertEquals(Arrays.asList(new Cyrillizer("סְפָרִים").getResult(), new Cyrillizer("סַפָּרִים").getResult()), 
+				index.lookupBySkeleton("ספרים"));
+		assertEquals(Arrays.asList(new Cyrillizer("שָׁלוֹם").getResult()), index.lookupBySkeleton("שלום"));
+		assertEquals(Collections.emptyList(), index.lookupBySkeleton("ספר"));
+		assertEquals(Collections.emptyList(), index.lookupBySkeleton("ספרי"));
+	}
+
+	@Test
+	public void shouldBeTrue3() throws IOException {
+		Path file = directory.resolve("empty.idx");
+		CyrillizerIndex.build(Arrays.asList(), file);
+		CyrillizerIndex index = CyrillizerIndex.open(file);
+
+		assertEquals(0, index.size());
+		assertEquals(new Cyrillizer("שָׁלוֹם").getResult(), index.lookup("שָׁלוֹם"));
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillizerSessionTest {
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> new CyrillizerSession(null));
+		assertThrows(NullPointerException.class, () -> new CyrillizerSession().edit(0, 0, null));
+    }
+
+    @Test
+    public void shouldThrowIndexOutOfBoundsException() {
+		CyrillizerSession session = new CyrillizerSession("שָׁלוֹם");
+
+		assertThrows(IndexOutOfBoundsException.class, () -> session.edit(-1, 0, "א"));
+		assertThrows(IndexOutOfBoundsException.class, () -> session.edit(5, 3, ""));
+		assertThrows(IndexOutOfBoundsException.class, () -> session.edit(8, 0, "א"));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		String text = "מַה־טֹּבוּ אֹהָלֶיךָ יַעֲקֹב מִשְׁכְּנֹתֶיךָ יִשְׂרָאֵל׃";
+		CyrillizerSession session = new CyrillizerSession(text);
+
+		assertEquals(text, session.getText());
+		assertEquals(new Cyrillizer(text).getResult(), session.getOutput());
+		assertEquals("", new CyrillizerSession().getOutput());
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		String text = "מִתְּחִלָּה עוֹבְדֵי עֲבוֹדָה זָרָה הָיוּ אֲבוֹתֵינוּ";
+		CyrillizerSession session = new CyrillizerSession();
+		StringBuilder typed = new StringBuilder();
+		for (int i = 0; i < text.length(); i++) {
+			String output = session.getOutput();
+			CyrillizerSession.Change change = session.edit(i, 0, text.substring(i, i + 1));
+			typed.append(text.charAt(i));
+
+			assertEquals(new Cyrillizer(typed.toString()).getResult(), session.getOutput());
+			assertEquals(session.getOutput(), output.substring(0, change.getStart()) + change.getReplacement() 
+					+ output.substring(change.getOldEnd()));
+		}
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		String text = "מִתְּחִלָּה עוֹבְדֵי עֲבוֹדָה זָרָה הָיוּ אֲבוֹתֵינוּ";
+		CyrillizerSession session = new CyrillizerSession(text);
+		String output = session.getOutput();
+
+		CyrillizerSession.Change change = session.edit(text.indexOf("זָרָה"), "זָרָה".length(), "קָשָׁה");
+		String edited = text.replace("זָרָה", "קָשָׁה");
+		assertEquals(new Cyrillizer(edited).getResult(), session.getOutput());
+		assertTrue(change.getStart() >= output.indexOf(new Cyrillizer("זָרָה").getResult()));
+		assertTrue(change.getOldEnd() <= output.indexOf(new Cyrillizer("הָיוּ").getResult()));
+
+		change = session.edit(edited.indexOf(" הָיוּ"), 1, "");
+		assertEquals(new Cyrillizer(edited.replace(" הָיוּ", "הָיוּ")).getResult(), session.getOutput());
+
+		change = session.edit(0, session.getText().length(), "");
+		assertEquals("", session.getText());
+		assertEquals(new Cyrillizer("").getResult(), session.getOutput());
+	}
+
+	@Test
+	public void shouldBeTrue4() {
+		CyrillizerSession session = new CyrillizerSession("שָׁלוֹם עֲלֵיכֶם");
+
+		assertTrue(session.edit(3, 0, "").isEmpty());
+	}
+}
@@ -3,6 +3,8 @@ package io.github.serafimkogan.hebrewutils;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 
@@ -114,4 +116,22 @@ public class CyrillizerTest {
 		String realResult = cyrillizer.getResult();
 		assertEquals(expectedResult, realResult);
 	}
+
+	@Test
+	public void shouldBeTrue12() {
+		String source = "צה״ל ז\"ל ג'ירפה צ׳יפס בשנת 1948 סְתָו יוֹם יו";
+		String expectedResult = "ца.ль з.ль джирфа чифс вшнт 1948 сэтав ём ав";
+		Cyrillizer cyrillizer = new Cyrillizer(source);
+		String realResult = cyrillizer.getResult();
+		assertEquals(expectedResult, realResult);
+	}
+
+	@Test
+	public void shouldBeTrue13() {
+		String source = String.join(" ", Collections.nCopies(3000, "אֵת כָּל עֲבֹדָתָם אֲשֶׁר עָבְדוּ בָהֶם בְּפָרֶך"));
+		String expectedResult = String.join(" ", Collections.nCopies(3000, "эт каль аводатам ашэр авду ваhэм бэфарэх"));
+		Cyrillizer cyrillizer = new Cyrillizer(source);
+		String realResult = cyrillizer.getResult();
+		assertEquals(expectedResult, realResult);
+	}
 }
@@ -0,0 +1,80 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+
+public class CyrillizerUtf8EngineTest {
+	private static final CyrillizerUtf8Engine ENGINE = new CyrillizerUtf8Engine();
+	private static final String SOURCE = "מַה־טֹּבוּ אֹהָלֶיךָ יַעֲקֹב 1948 צה״ל abc € 😀";
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> ENGINE.transliterate((byte[]) null));
+		assertThrows(NullPointerException.class, () -> ENGINE.transliterate(ByteBuffer.allocate(0), null));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		byte[] expectedResult = new Cyrillizer(SOURCE).getResult().getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(expectedResult, ENGINE.transliterate(SOURCE.getBytes(StandardCharsets.UTF_8)));
+		assertArrayEquals(new byte[0], ENGINE.transliterate(new byte[0]));
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		byte[] source = ("[" + SOURCE + "]").getBytes(StandardCharsets.UTF_8);
+		byte[] expectedResult = new Cyrillizer(SOURCE).getResult().getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(expectedResult, ENGINE.transliterate(source, 1, source.length - 2));
+
+		ByteBuffer in = ByteBuffer.allocateDirect(source.length);
+		in.put(source).position(1).limit(source.length - 1);
+		ByteBuffer out = ByteBuffer.allocate(expectedResult.length + 8);
+		out.position(8);
+		ENGINE.transliterate(in, out);
+		assertEquals(source.length - 1, in.position());
+		assertEquals(expectedResult.length + 8, out.position());
+		byte[] result = new byte[expectedResult.length];
+		out.position(8);
+		out.get(result);
+		assertArrayEquals(expectedResult, result);
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		// Long enough to be cut into several chunks, one of which ends in a word joined by newlines alone
+		StringBuilder source = new StringBuilder();
+		for (int i = 0; i < 2000; i++)
+			source.append(SOURCE).append(i % 500 == 0 ? "\nוְ\n" : " ");
+		byte[] bytes = source.toString().getBytes(StandardCharsets.UTF_8);
+
+		assertArrayEquals(new Cyrillizer(source.toString()).getResult().getBytes(StandardCharsets.UTF_8),
+				ENGINE.transliterate(bytes));
+	}
+
+	@Test
+	public void shouldBeTrue4() {
+		byte[] source = {(byte) 0xd7, (byte) 0xa9, (byte) 0xe0, (byte) 0x80, 0x20, (byte) 0xf0, (byte) 0x9f, (byte) 0x98, 
+				0x20, (byte) 0xed, (byte) 0xa0, (byte) 0x80, 0x20, (byte) 0xd7};
+		String decoded = new String(source, StandardCharsets.UTF_8);
+
+		assertArrayEquals(new Cyrillizer(decoded).getResult().getBytes(StandardCharsets.UTF_8), ENGINE.transliterate(source));
+	}
+
+	@Test
+	public void shouldThrowBufferOverflowException() {
+		ByteBuffer in = ByteBuffer.wrap(SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(BufferOverflowException.class, () -> ENGINE.transliterate(in, ByteBuffer.allocate(4)));
+		assertEquals(0, in.position());
+	}
+}
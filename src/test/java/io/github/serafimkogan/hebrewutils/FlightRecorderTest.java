@@ -0,0 +1,124 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+public class FlightRecorderTest {
+	private static final String TRANSLITERATION = "io.github.serafimkogan.hebrewutils.Transliteration";
+	private static final String SPREAD = "io.github.serafimkogan.hebrewutils.Spread";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldBeTrue1() throws Exception {
+		Path file = directory.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(TRANSLITERATION).withThreshold(Duration.ZERO).withoutStackTrace();
+			recording.enable(SPREAD).withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+
+			new Cyrillizer("שָׁלוֹם");
+			new NikkudimSpreader("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי");
+			assertThrows(IllegalArgumentException.class, () -> new NikkudimSpreader("שָׁלוֹם", "סלום"));
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		List<RecordedEvent> transliterations = events.stream()
+				.filter(event -> event.getEventType().getName().equals(TRANSLITERATION)).collect(Collectors.toList());
+		List<RecordedEvent> spreads = events.stream()
+				.filter(event -> event.getEventType().getName().equals(SPREAD)).collect(Collectors.toList());
+
+		assertEquals(1, transliterations.size());
+		assertEquals("שָׁלוֹם".length(), transliterations.get(0).getInt("inputLength"));
+		assertTrue(transliterations.get(0).getInt("tokenCount") > 0);
+
+		assertEquals(2, spreads.size());
+		RecordedEvent success = spreads.get(0);
+		assertEquals(8, success.getInt("wordCount"));
+		assertTrue(success.getString("changeReasons").startsWith("REGULAR="));
+		assertNotNull(success.getStackTrace());
+		RecordedEvent failure = spreads.get(1);
+		assertEquals("ROOT_MISMATCH", failure.getString("failure"));
+		assertEquals(0, failure.getInt("failedWord"));
+	}
+
+	@Test
+	public void shouldBeTrue2() throws Exception {
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/hebrew-utils.jfc"), 
+				StandardCharsets.UTF_8)) {
+			Configuration configuration = Configuration.create(reader);
+
+			assertEquals("20 ms", configuration.getSettings().get(TRANSLITERATION + "#threshold"));
+			assertEquals("true", configuration.getSettings().get(SPREAD + "#stackTrace"));
+		}
+	}
+
+	// The library loaded again by a class loader that has no jdk.jfr, the way Android or a small image has none
+	@Test
+	public void shouldBeTrue3() throws Exception {
+		URL classes = Cyrillizer.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, getClass().getClassLoader()) {
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				if (name.startsWith("jdk.jfr."))
+					throw new ClassNotFoundException(name);
+				if (!name.startsWith(Cyrillizer.class.getPackageName() + "."))
+					return super.loadClass(name, resolve);
+
+				synchronized (getClassLoadingLock(name)) {
+					Class<?> loaded = findLoadedClass(name);
+					return loaded != null ? loaded : findClass(name);
+				}
+			}
+		}) {
+			assertThrows(NoClassDefFoundError.class, () -> Class.forName(TransliterationEvent.class.getName(), true, loader));
+
+			Class<?> cyrillizer = loader.loadClass(Cyrillizer.class.getName());
+			assertTrue(cyrillizer != Cyrillizer.class);
+			Object instance = cyrillizer.getConstructor(String.class).newInstance("שָׁלוֹם");
+			assertEquals(new Cyrillizer("שָׁלוֹם").getResult(), cyrillizer.getMethod("getResult").invoke(instance));
+
+			Class<?> engine = loader.loadClass(CyrillizerEngine.class.getName());
+			Writer out = new StringWriter();
+			engine.getMethod("transliterate", Reader.class, Writer.class)
+					.invoke(engine.getConstructor().newInstance(), new StringReader("שָׁלוֹם עוֹלָם"), out);
+			assertEquals(new Cyrillizer("שָׁלוֹם עוֹלָם").getResult(), out.toString());
+
+			Class<?> spreader = loader.loadClass(NikkudimSpreader.class.getName());
+			Object outcome = spreader.getMethod("trySpread", String.class, String.class)
+					.invoke(null, "רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי");
+			assertEquals(NikkudimSpreader.trySpread("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי").getResult(),
+					outcome.getClass().getMethod("getResult").invoke(outcome));
+			Object failure = spreader.getMethod("trySpread", String.class, String.class).invoke(null, "שָׁלוֹם", "סלום");
+			assertEquals(false, failure.getClass().getMethod("isSuccess").invoke(failure));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+
+public class HebrewCharClassTest {
+
+	@Test
+	public void shouldBeTrue1() {
+		for (char ch = 0; ch < Character.MAX_VALUE; ch++) {
+			assertEquals(Symbols.Hebrew.isHebrewLetter(ch), HebrewCharClass.is(ch, HebrewCharClass.LETTER));
+			assertEquals(Symbols.Hebrew.isHebrewDiacritics(ch), HebrewCharClass.is(ch, HebrewCharClass.DIACRITIC));
+			assertEquals(Character.isDigit(ch), HebrewCharClass.is(ch, HebrewCharClass.DIGIT));
+			assertEquals(Symbols.Hebrew.isHebrewDiacritics(ch) || ch == Symbols.Hebrew.geresh || ch == Symbols.apostrophe,
+					HebrewCharClass.is(ch, HebrewCharClass.MARK));
+			assertEquals(Symbols.Hebrew.isHebrewDiacritics(ch) || ch == Symbols.Hebrew.geresh
+					|| ch == Symbols.Hebrew.abbreviation_gershayim, HebrewCharClass.is(ch, HebrewCharClass.REMOVED));
+		}
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		assertEquals(HebrewCharClass.DIACRITIC | HebrewCharClass.MARK
+				| HebrewCharClass.REMOVED, HebrewCharClass.of(Symbols.Hebrew.qamats));
+		assertEquals(HebrewCharClass.DIACRITIC | HebrewCharClass.MARK
+				| HebrewCharClass.REMOVED, HebrewCharClass.of(Symbols.Hebrew.zakef_katan));
+		assertEquals(HebrewCharClass.DIACRITIC | HebrewCharClass.MARK
+				| HebrewCharClass.REMOVED, HebrewCharClass.of(Symbols.Hebrew.shin_dot));
+		assertEquals(HebrewCharClass.BREAK | HebrewCharClass.NORMALIZED,
+				HebrewCharClass.of(Symbols.Hebrew.maqaf));
+		assertEquals(HebrewCharClass.DIGIT, HebrewCharClass.of('٣'));
+		assertEquals(0, HebrewCharClass.of('ж'));
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		String source = "Shalom, עוֹלָם 42";
+		assertEquals(8, HebrewCharClass.indexOf(source, 0, source.length(), HebrewCharClass.LETTER));
+		assertEquals(10, HebrewCharClass.indexOf(source, 8, source.length(), HebrewCharClass.DIACRITIC));
+		assertEquals(6, HebrewCharClass.indexOf(source, 0, 6, HebrewCharClass.DIGIT));
+		assertEquals(15, HebrewCharClass.indexOf(source.toCharArray(), 0, source.length(), HebrewCharClass.DIGIT));
+	}
+}
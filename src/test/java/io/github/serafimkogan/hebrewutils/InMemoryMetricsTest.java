@@ -0,0 +1,113 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+public class InMemoryMetricsTest {
+	@TempDir
+	Path directory;
+
+	@AfterEach
+	public void uninstall() {
+		Metrics.install(Metrics.NOOP);
+	}
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> Metrics.install(null));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		Metrics.install(metrics);
+		assertSame(metrics, Metrics.current());
+
+		new Cyrillizer("שָׁלוֹם");
+		new Cyrillizer("רִגּוּל תַּעֲשִׂיָּתִי");
+
+		InMemoryMetrics.Snapshot snapshot = metrics.snapshot();
+		assertEquals(2, snapshot.getTransliterationCount());
+		assertEquals("שָׁלוֹם".length() + "רִגּוּל תַּעֲשִׂיָּתִי".length(), snapshot.getTransliteratedCharCount());
+		assertTrue(snapshot.getTokenCount() >= 10);
+		assertEquals(2, Arrays.stream(snapshot.getTransliterationLatencies()).sum());
+		assertEquals(0, snapshot.getSpreadCount());
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		Metrics.install(metrics);
+
+		new NikkudimSpreader("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי");
+		assertThrows(IllegalArgumentException.class, () -> new NikkudimSpreader("שָׁלוֹם", "שלום עליכם"));
+		NikkudimSpreader.trySpread("שָׁלוֹם", "סלום");
+
+		InMemoryMetrics.Snapshot snapshot = metrics.snapshot();
+		assertEquals(3, snapshot.getSpreadCount());
+		assertEquals(3, Arrays.stream(snapshot.getSpreadLatencies()).sum());
+		assertEquals(snapshot.getWordCount(), snapshot.getChanges().values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(1, (long) snapshot.getFailures().get(NikkudimSpreader.Failure.WORD_COUNT_MISMATCH));
+		assertEquals(1, (long) snapshot.getFailures().get(NikkudimSpreader.Failure.ROOT_MISMATCH));
+		assertEquals(0, (long) snapshot.getFailures().get(NikkudimSpreader.Failure.NO_REFERENCE));
+		assertTrue(snapshot.toString().contains("spreads 3\n"));
+		assertTrue(snapshot.toString().contains("failures{ROOT_MISMATCH} 1\n"));
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		Metrics.install(Metrics.NOOP);
+
+		new Cyrillizer("שָׁלוֹם");
+		new NikkudimSpreader("שָׁלוֹם", "שלום");
+
+		assertEquals(0, metrics.snapshot().getTransliterationCount());
+		assertEquals(0, metrics.snapshot().getSpreadCount());
+	}
+
+	@Test
+	public void shouldBeTrue5() {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		Metrics.install(metrics);
+
+		new Cyrillizer("שָׁלוֹם").getMetaData();
+		new NikkudimSpreader("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי").getMetaData();
+
+		InMemoryMetrics.Snapshot snapshot = metrics.snapshot();
+		assertEquals(1, snapshot.getTransliterationCount());
+		assertEquals(1, snapshot.getSpreadCount());
+	}
+
+	@Test
+	public void shouldBeTrue6() throws IOException {
+		assertSame(Metrics.NOOP, MetricsRegistry.load());
+		assertSame(Metrics.NOOP, loadProvider("io.github.serafimkogan.hebrewutils.MissingMetrics"));
+		assertTrue(loadProvider(InMemoryMetrics.class.getName()) instanceof InMemoryMetrics);
+	}
+
+	// Registers the provider in a loader of its own, so that no other test sees it
+	private Metrics loadProvider(String provider) throws IOException {
+		Path services = Files.createDirectories(directory.resolve(provider).resolve("META-INF").resolve("services"));
+		Files.writeString(services.resolve(Metrics.class.getName()), provider + "\n");
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.resolve(provider).toUri().toURL() },
+				getClass().getClassLoader())) {
+			return MetricsRegistry.load(loader);
+		}
+	}
+}
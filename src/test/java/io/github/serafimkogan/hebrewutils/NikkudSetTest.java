@@ -0,0 +1,41 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+public class NikkudSetTest {
+
+	@Test
+	public void shouldBeTrue1() {
+		long nikkudim = NikkudSet.of("שָׁ׳'");
+		assertTrue(NikkudSet.contains(nikkudim, Symbols.Hebrew.qamats));
+		assertTrue(NikkudSet.contains(nikkudim, Symbols.Hebrew.shin_dot));
+		assertTrue(NikkudSet.contains(nikkudim, Symbols.Hebrew.geresh));
+		assertTrue(NikkudSet.contains(nikkudim, Symbols.apostrophe));
+		assertFalse(NikkudSet.contains(nikkudim, Symbols.Hebrew.patah));
+		assertFalse(NikkudSet.contains(nikkudim, 'ש'));
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		assertTrue(NikkudSet.isNikkud(Symbols.Hebrew.etnahta));
+		assertTrue(NikkudSet.isNikkud(Symbols.Hebrew.qamats_katan));
+		assertFalse(NikkudSet.isNikkud('א'));
+		assertFalse(NikkudSet.isNikkud(Symbols.space));
+		assertEquals(NikkudSet.EMPTY, NikkudSet.of("abc"));
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		assertTrue(Symbols.Hebrew.nikkudimContainsNonStressedO(NikkudSet.of(Symbols.Hebrew.dagesh, Symbols.Hebrew.patah)));
+		assertFalse(Symbols.Hebrew.nikkudimContainsNonStressedO(NikkudSet.of(Symbols.Hebrew.dagesh, Symbols.Hebrew.hiriq)));
+		assertTrue(Symbols.Hebrew.nikkudimContainsNonStressedO(List.of(Symbols.Hebrew.hiriq, Symbols.Hebrew.sheva)));
+		assertFalse(Symbols.Hebrew.nikkudimContainsNonStressedO(List.of(Symbols.Hebrew.shin_dot)));
+	}
+}
@@ -1,7 +1,14 @@
 package io.github.serafimkogan.hebrewutils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -252,4 +259,102 @@ public class NikkudimSpreaderTest {
 		String realResult = spreader.getResult();
 		assertEquals(expectedResult, realResult);
 	};
+
+	@Test
+	public void shouldBeTrue19() {
+		String reference = "עֲשֶׂרֶת הַדִּבְּרוֹת";
+		String billet = "עשרת הדיברות";
+		NikkudimSpreader spreader = new NikkudimSpreader(reference, billet);
+		NikkudimSpreader diagnosticSpreader = new NikkudimSpreader(reference, billet, true);
+		assertEquals(spreader.getResult(), diagnosticSpreader.getResult());
+		assertEquals(spreader.getMetaData(), diagnosticSpreader.getMetaData());
+		assertEquals(diagnosticSpreader.getMetaData(), diagnosticSpreader.getMetaData());
+	};
+
+	@Test
+	public void shouldBeTrue20() {
+		String reference = "רִגּוּל תַּעֲשִׂיָּתִי";
+		String billet = "ריגול תעשייתי";
+		NikkudimSpreader.Outcome outcome = NikkudimSpreader.trySpread(reference, billet);
+		assertTrue(outcome.isSuccess());
+		assertEquals(new NikkudimSpreader(reference, billet).getResult(), outcome.getResult());
+		assertNull(outcome.getFailure());
+	};
+	
+	@Test
+	public void shouldBeTrue21() {
+		String reference = "עֲשֶׂרֶת הַדִּבְּרוֹת";
+		String billet = "עקידה";
+		NikkudimSpreader.Outcome outcome = NikkudimSpreader.trySpread(reference, billet);
+		assertFalse(outcome.isSuccess());
+		assertNull(outcome.getResult());
+		assertEquals(NikkudimSpreader.Failure.WORD_COUNT_MISMATCH, outcome.getFailure());
+		assertEquals(-1, outcome.getWordIndex());
+	};
+	
+	@Test
+	public void shouldBeTrue22() {
+		String reference = "רִגּוּל תַּעֲשִׂיָּתִי";
+		String billet = "ריגול כעשייתי";
+		NikkudimSpreader.Outcome outcome = NikkudimSpreader.trySpread(reference, billet);
+		assertFalse(outcome.isSuccess());
+		assertEquals(NikkudimSpreader.Failure.ROOT_MISMATCH, outcome.getFailure());
+		assertEquals(1, outcome.getWordIndex());
+		assertEquals(2, NikkudimSpreader.trySpread("אֶת־רִגּוּל תַּעֲשִׂיָּתִי", "את-ריגול כעשייתי").getWordIndex());
+		assertEquals(List.of(), outcome.getChangeReasons());
+	};
+	
+	@Test
+	public void shouldThrowNullPointerException4() {
+		assertThrows(NullPointerException.class, () -> NikkudimSpreader.trySpread(null, "תאווה"));
+	}
+
+	@Test
+	public void shouldBeTrue23() {
+		List<Map.Entry<String, String>> pairs = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			pairs.add(Map.entry("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי"));
+			pairs.add(Map.entry("סְתָו", "סתיו"));
+			pairs.add(Map.entry("עֲשֶׂרֶת הַדִּבְּרוֹת", "עקידה"));
+		}
+		
+		NikkudimSpreader.Report report = NikkudimSpreader.spreadAll(pairs);
+		assertEquals(pairs.size(), report.size());
+		assertEquals(600, report.getSuccesses().size());
+		assertEquals(300, report.getFailures().size());
+		for (int i = 0; i < pairs.size(); i++) {
+			String reference = pairs.get(i).getKey();
+			String billet = pairs.get(i).getValue();
+			if (i % 3 == 2) {
+				assertEquals(NikkudimSpreader.Failure.WORD_COUNT_MISMATCH, report.getFailures().get(i).getFailure());
+			} else {
+				assertEquals(new NikkudimSpreader(reference, billet).getResult(), report.getSuccesses().get(i));
+			}
+		}
+		
+		Map<NikkudimSpreader.ChangeReason, Long> histogram = report.getChangeReasonHistogram();
+		assertEquals(300L, histogram.get(NikkudimSpreader.ChangeReason.NULL_TO_YUD));
+		assertEquals(300L * 10, histogram.values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(report.getSuccesses(), NikkudimSpreader.spreadAll(pairs.stream()).getSuccesses());
+	};
+	
+	@Test
+	public void shouldThrowNullPointerException5() {
+		List<Map.Entry<String, String>> pairs = new ArrayList<>();
+		pairs.add(Map.entry("סְתָו", "סתיו"));
+		pairs.add(null);
+		
+		assertThrows(NullPointerException.class, () -> NikkudimSpreader.spreadAll(pairs));
+	}
+
+	@Test
+	public void shouldBeTrue24() {
+		NikkudimSpreader spreader = new NikkudimSpreader("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי");
+		List<NikkudimSpreader.ChangeReason> reasons = spreader.getChangeReasons();
+		assertEquals(8, reasons.size());
+		assertEquals(NikkudimSpreader.ChangeReason.NULL_TO_YUD, reasons.get(0));
+		assertEquals(NikkudimSpreader.ChangeReason.YUD_TO_YUDYUD, reasons.get(6));
+		assertEquals(reasons, NikkudimSpreader.trySpread("רִגּוּל תַּעֲשִׂיָּתִי", "ריגול תעשייתי").getChangeReasons());
+		assertThrows(UnsupportedOperationException.class, () -> reasons.set(0, NikkudimSpreader.ChangeReason.REGULAR));
+	}
 }
@@ -0,0 +1,49 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+public class SkeletonIndexTest {
+	private static final List<String> REFERENCES = Arrays.asList("אָזְנֵי", "שָׁלוֹם", "שְׁלוֹמִי", "רִגּוּל תַּעֲשִׂיָּתִי", 
+			"סְתָו", "סְפָרִים", "סַפָּרִים", "צה״ל");
+
+    @Test
+    public void shouldThrowNullPointerException() {
+		assertThrows(NullPointerException.class, () -> new SkeletonIndex(Arrays.asList("סְתָו", null)));
+    }
+
+	@Test
+	public void shouldBeTrue1() {
+		SkeletonIndex index = new SkeletonIndex(REFERENCES);
+
+		assertEquals(8, index.size());
+		assertEquals(Arrays.asList("אָזְנֵי"), index.getCandidates("אוזני"));
+		assertEquals(Arrays.asList("סְתָו"), index.getCandidates("סתיו"));
+		assertEquals(Arrays.asList("שָׁלוֹם"), index.getCandidates("שלום"));
+		assertEquals(Arrays.asList("רִגּוּל תַּעֲשִׂיָּתִי"), index.getCandidates("ריגול תעשייתי"));
+		assertEquals(Arrays.asList("סְפָרִים", "סַפָּרִים"), index.getCandidates("ספרים"));
+		assertEquals(Arrays.asList("צה״ל"), index.getCandidates("צה\"ל"));
+		assertEquals(Arrays.asList(), index.getCandidates("ספר"));
+	}
+
+	@Test
+	public void shouldBeTrue2() {
+		SkeletonIndex index = new SkeletonIndex(REFERENCES);
+
+		NikkudimSpreader.Outcome outcome = index.spread("אוזני");
+		assertTrue(outcome.isSuccess());
+		assertEquals(new NikkudimSpreader("אָזְנֵי", "אוזני").getResult(), outcome.getResult());
+
+		outcome = index.spread("תאווה");
+		assertFalse(outcome.isSuccess());
+		assertEquals(NikkudimSpreader.Failure.NO_REFERENCE, outcome.getFailure());
+	}
+}
@@ -0,0 +1,86 @@
+package io.github.serafimkogan.hebrewutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+
+public class SymbolsTest {
+
+	@Test
+	public void shouldBeTrue1() {
+		String source = "בְּרֵאשִׁ֖ית בָּרָ֣א אֱלֹהִ֑ים צה״ל צ׳יפס וַֽיְהִי־אֽוֹר׃";
+		String expectedResult = "בראשית ברא אלהים צה''ל צ'יפס ויהי־אור";
+		assertEquals(expectedResult, Symbols.Hebrew.removeDiacritics(source));
+	}
+
+	@Test
+	public void shouldBeTrue2() throws IOException {
+		String source = "אֵת כָּל צה״ל";
+		StringWriter writer = new StringWriter();
+		int length = Symbols.Hebrew.removeDiacritics(source, writer);
+		assertEquals("את כל צה''ל", writer.toString());
+		assertEquals(writer.toString().length(), length);
+	}
+
+	@Test
+	public void shouldBeTrue3() {
+		char[] source = "[צ׳יפס צה״ל חֲתוּלָה]".toCharArray();
+		char[] destination = new char[source.length * 2];
+		int length = Symbols.Hebrew.removeDiacritics(source, 1, source.length - 2, destination);
+		assertEquals("צ'יפס צה''ל חתולה", new String(destination, 0, length));
+	}
+
+	@Test
+	public void shouldBeTrue4() throws IOException {
+		String source = "[אֵת כָּל צה״ל]";
+		StringBuilder builder = new StringBuilder();
+		int length = Symbols.Hebrew.removeDiacritics(source, 1, source.length() - 1, builder);
+		assertEquals("את כל צה''ל", builder.toString());
+		assertEquals(builder.length(), length);
+
+		builder.setLength(0);
+		length = Symbols.Hebrew.removeDiacritics(source.toCharArray(), 1, source.length() - 2, builder);
+		assertEquals("את כל צה''ל", builder.toString());
+		assertEquals(builder.length(), length);
+
+		char[] destination = new char[source.length() * 2 + 3];
+		length = Symbols.Hebrew.removeDiacritics(source.toCharArray(), 1, source.length() - 2, destination, 3);
+		assertEquals("את כל צה''ל", new String(destination, 3, length));
+	}
+
+	@Test
+	public void shouldBeTrue5() {
+		String source = "1948 — אֵת כָּל";
+		char[] chars = source.toCharArray();
+
+		assertEquals(source.indexOf('א'), Symbols.Hebrew.indexOfHebrewLetter(source, 0, source.length()));
+		assertEquals(source.indexOf('א'), Symbols.Hebrew.indexOfHebrewLetter(chars, 0, chars.length));
+		assertEquals(-1, Symbols.Hebrew.indexOfHebrewLetter(source, 0, 6));
+		assertEquals(-1, Symbols.Hebrew.indexOfHebrewLetter(chars, 0, 6));
+
+		assertTrue(Symbols.Hebrew.containsDiacritics(source, 0, source.length()));
+		assertTrue(Symbols.Hebrew.containsDiacritics(chars, 7, 2));
+		assertFalse(Symbols.Hebrew.containsDiacritics(source, 0, 8));
+		assertFalse(Symbols.Hebrew.containsDiacritics("צ'יפס", 0, 5));
+		assertTrue(Symbols.Hebrew.containsDiacritics("צ׳יפס".toCharArray(), 0, 5));
+	}
+
+	@Test
+	public void shouldThrowIndexOutOfBoundsException2() {
+		assertThrows(IndexOutOfBoundsException.class, () -> Symbols.Hebrew.removeDiacritics("אֵת", 2, 4, new StringBuilder()));
+		assertThrows(IndexOutOfBoundsException.class, () -> Symbols.Hebrew.indexOfHebrewLetter("אֵת", 2, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> Symbols.Hebrew.containsDiacritics(new char[4], 3, 2));
+	}
+
+	@Test
+	public void shouldThrowIndexOutOfBoundsException() {
+		assertThrows(IndexOutOfBoundsException.class, () -> Symbols.Hebrew.removeDiacritics(new char[4], 2, 3, new char[8]));
+	}
+}